@@ -0,0 +1,357 @@
+/*
+ * Copyright (C) 2012 Andreas Zeiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andreaszeiser.jalousie;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Display;
+import android.view.WindowManager;
+
+import com.andreaszeiser.jalousie.util.Log;
+
+/**
+ * Watches the frame intervals of a running jalousie animation. If frames
+ * overrun the frame budget, the remaining animation is switched to a cheaper
+ * quality level. The quality level, with which animations start, is stored
+ * in the shared preferences, so that slow devices do not have to drop frames
+ * again on each app start.
+ *
+ * Each animating jalousie uses its own instance, while the start quality
+ * level is shared between all instances. The stored start quality is read
+ * on a background thread, until then animations start with full quality.
+ *
+ * @author Andreas Zeiser
+ *
+ */
+public final class AnimationQualityController {
+
+	private static final String TAG = AnimationQualityController.class
+			.getSimpleName();
+
+	/**
+	 * Every animation frame leads to a layout pass.
+	 */
+	public static final int QUALITY_FULL = 0;
+
+	/**
+	 * Only every second animation frame leads to a layout pass.
+	 */
+	public static final int QUALITY_REDUCED_STEPS = 1;
+
+	/**
+	 * The size is changed only once, the animation itself only changes the
+	 * clipping of the content.
+	 */
+	public static final int QUALITY_CLIP_ONLY = 2;
+
+	/**
+	 * The animation jumps to its end state.
+	 */
+	public static final int QUALITY_JUMP_TO_END = 3;
+
+	/**
+	 * Name of the shared preferences file, which holds the start quality.
+	 */
+	private static final String PREFERENCES_NAME = "com.andreaszeiser.jalousie.quality";
+
+	private static final String PREFERENCE_START_QUALITY = "startQuality";
+
+	/**
+	 * The time budget of a single frame in ms, if the refresh rate of the
+	 * display is unknown.
+	 */
+	private static final long DEFAULT_FRAME_BUDGET = 16;
+
+	/**
+	 * Refresh rates below this value in Hz are reported by some devices
+	 * instead of the real one and are ignored.
+	 */
+	private static final float MIN_REFRESH_RATE = 20f;
+
+	/**
+	 * Number of overrun frames, after which the quality is degraded.
+	 */
+	private static final int MAX_OVERRUNS_PER_QUALITY = 2;
+
+	/**
+	 * Number of animations without any overrun frame, after which the start
+	 * quality is raised again.
+	 */
+	private static final int CLEAN_ANIMATIONS_FOR_UPGRADE = 10;
+
+	/**
+	 * Quality with which each animation starts.
+	 */
+	private static int sStartQuality = QUALITY_FULL;
+
+	/**
+	 * Number of successive animations, which ran without overrun at start
+	 * quality.
+	 */
+	private static int sCleanAnimations = 0;
+
+	/**
+	 * Shared preferences, in which the start quality is persisted. Is
+	 * <code>null</code> until they are loaded after
+	 * {@link #AnimationQualityController(Context)} was called the first time.
+	 */
+	private static SharedPreferences sPreferences;
+
+	/**
+	 * True, if loading the shared preferences was started.
+	 */
+	private static boolean sLoadStarted = false;
+
+	/**
+	 * True, if the start quality was changed by an animation, before the
+	 * stored value was read. The stored value is outdated then.
+	 */
+	private static boolean sStartQualityChanged = false;
+
+	/**
+	 * A frame interval longer than this value in ms means, that at least one
+	 * frame was dropped. Is two frame budgets of the display.
+	 */
+	private final long mFrameOverrunThreshold;
+
+	/**
+	 * Quality of the running animation.
+	 */
+	private int mQuality;
+
+	/**
+	 * Time of the last animation frame in ms or 0, if no frame was seen yet.
+	 */
+	private long mLastFrameTime;
+
+	/**
+	 * Number of overrun frames at the current quality.
+	 */
+	private int mOverruns;
+
+	/**
+	 * True, if at least one frame overran during the running animation.
+	 */
+	private boolean mHadOverrun;
+
+	/**
+	 * Must be called on the main thread.
+	 * 
+	 * @param context
+	 */
+	public AnimationQualityController(final Context context) {
+		mFrameOverrunThreshold = 2 * getFrameBudget(context);
+
+		if (!sLoadStarted) {
+			sLoadStarted = true;
+
+			loadStartQuality(context.getApplicationContext());
+		}
+	}
+
+	/**
+	 * Derives the time budget of a single frame from the refresh rate of the
+	 * default display.
+	 * 
+	 * @return the frame budget in ms
+	 */
+	private static long getFrameBudget(final Context context) {
+		final WindowManager windowManager = (WindowManager) context
+				.getSystemService(Context.WINDOW_SERVICE);
+		final Display display = (windowManager != null) ? windowManager
+				.getDefaultDisplay() : null;
+		final float refreshRate = (display != null) ? display.getRefreshRate()
+				: 0f;
+
+		if (refreshRate < MIN_REFRESH_RATE) {
+			return DEFAULT_FRAME_BUDGET;
+		}
+
+		return Math.max(1, Math.round(1000f / refreshRate));
+	}
+
+	/**
+	 * Reads the stored start quality on a background thread, because the
+	 * first access to the shared preferences hits the disk. The value is
+	 * applied on the main thread.
+	 */
+	private static void loadStartQuality(final Context applicationContext) {
+		final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+		new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				final SharedPreferences preferences = applicationContext
+						.getSharedPreferences(PREFERENCES_NAME,
+								Context.MODE_PRIVATE);
+				final int startQuality = preferences.getInt(
+						PREFERENCE_START_QUALITY, QUALITY_FULL);
+
+				mainHandler.post(new Runnable() {
+
+					@Override
+					public void run() {
+						sPreferences = preferences;
+
+						if (sStartQualityChanged) {
+							// animations already adjusted the start quality,
+							// which could not be stored without preferences
+							persistStartQuality(sStartQuality);
+							return;
+						}
+
+						sStartQuality = startQuality;
+
+						Log.v(TAG, "[loadStartQuality] start quality="
+								+ sStartQuality);
+					}
+				});
+			}
+		}, TAG).start();
+	}
+
+	/**
+	 * Resets the per-animation state. Has to be called right before an
+	 * animation starts.
+	 *
+	 * @return the quality with which the animation should start
+	 */
+	public int start() {
+		mQuality = sStartQuality;
+		mLastFrameTime = 0;
+		mOverruns = 0;
+		mHadOverrun = false;
+
+		return mQuality;
+	}
+
+	/**
+	 * Has to be called on each animation frame.
+	 *
+	 * @param frameTime
+	 *            time of this frame in ms
+	 * @return the quality, which should be used for this frame
+	 */
+	public int onFrame(final long frameTime) {
+		if (mLastFrameTime != 0 && mQuality < QUALITY_JUMP_TO_END) {
+			final long interval = frameTime - mLastFrameTime;
+
+			if (interval > mFrameOverrunThreshold) {
+				mHadOverrun = true;
+
+				if (++mOverruns >= MAX_OVERRUNS_PER_QUALITY) {
+					mOverruns = 0;
+					mQuality++;
+
+					Log.v(TAG, "[onFrame] interval=" + interval
+							+ ", degrade quality to " + mQuality);
+				}
+			}
+		}
+
+		mLastFrameTime = frameTime;
+
+		return mQuality;
+	}
+
+	/**
+	 * Has to be called, when the animation has finished. Updates the shared
+	 * start quality based on the observed frames. Only completed animations
+	 * count as clean ones, a cancelled animation, e.g. reversed after a few
+	 * frames, says nothing about the device.
+	 * 
+	 * @param completed
+	 *            false, if the animation was cancelled
+	 */
+	public void finish(final boolean completed) {
+		final int oldStartQuality = sStartQuality;
+
+		if (mQuality > sStartQuality) {
+			// never start with a jump, there should always be a chance to
+			// animate
+			sStartQuality = Math.min(mQuality, QUALITY_CLIP_ONLY);
+			sCleanAnimations = 0;
+		} else if (completed && !mHadOverrun && sStartQuality > QUALITY_FULL) {
+			if (++sCleanAnimations >= CLEAN_ANIMATIONS_FOR_UPGRADE) {
+				sStartQuality--;
+				sCleanAnimations = 0;
+			}
+		}
+
+		if (oldStartQuality != sStartQuality) {
+			Log.v(TAG, "[finish] start quality=" + sStartQuality);
+
+			sStartQualityChanged = true;
+
+			persistStartQuality(sStartQuality);
+		}
+	}
+
+	/**
+	 * Returns the quality with which animations start on this device.
+	 *
+	 * @return one of the QUALITY_ constants
+	 */
+	public static int getStartQuality() {
+		return sStartQuality;
+	}
+
+	/**
+	 * Lets all following animations start with full quality again.
+	 */
+	public static void resetStartQuality() {
+		sStartQuality = QUALITY_FULL;
+		sCleanAnimations = 0;
+		sStartQualityChanged = true;
+
+		persistStartQuality(QUALITY_FULL);
+	}
+
+	/**
+	 * Writes the start quality asynchronously, so that no disk access is done
+	 * on the main thread. This happens rarely, only if the start quality
+	 * changes.
+	 */
+	private static void persistStartQuality(final int startQuality) {
+		final SharedPreferences preferences = sPreferences;
+
+		if (preferences == null) {
+			return;
+		}
+
+		final SharedPreferences.Editor editor = preferences.edit().putInt(
+				PREFERENCE_START_QUALITY, startQuality);
+
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.GINGERBREAD) {
+			editor.apply();
+		} else {
+			// apply() is not available before Gingerbread
+			new Thread(new Runnable() {
+
+				@Override
+				public void run() {
+					editor.commit();
+				}
+			}, TAG).start();
+		}
+	}
+
+}
@@ -0,0 +1,1026 @@
+/*
+ * Copyright (C) 2012 Andreas Zeiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andreaszeiser.jalousie;
+
+import java.util.ArrayList;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.database.DataSetObserver;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.os.Parcelable;
+import android.util.AttributeSet;
+import android.util.SparseArray;
+import android.util.SparseIntArray;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+import android.view.ViewTreeObserver;
+import android.view.animation.Interpolator;
+import android.widget.AdapterView;
+import android.widget.ListAdapter;
+
+import com.andreaszeiser.jalousie.util.Log;
+
+/**
+ * A jalousie, which shows the items of an adapter in a grid. In collapsed
+ * state only the first rows are visible, the remaining rows are revealed on
+ * expand.
+ * 
+ * Cells are created only for the rows, which intersect the visible rect of
+ * this view or are about to be revealed by a running action. Cells of rows,
+ * which are scrolled out of sight or hidden again after a collapse, are
+ * recycled through a pool per view type and handed to the adapter as convert
+ * views. All rows have the same height, so the expanded
+ * size is calculated from the row count instead of measuring every cell.
+ * The row height is either declared or taken from the first cell.
+ * 
+ * This view only supports vertical content gravity.
+ * 
+ * @author Andreas Zeiser
+ * 
+ */
+public class ExpandableGridJalousie extends ViewGroup implements Jalousie {
+
+	private static final String TAG = ExpandableGridJalousie.class
+			.getSimpleName();
+
+	/**
+	 * Default number of columns.
+	 */
+	public static final int DEFAULT_NUM_COLUMNS = 3;
+
+	/**
+	 * Default number of rows in collapsed state.
+	 */
+	public static final int DEFAULT_COLLAPSED_ROWS = 1;
+
+	private final JalousieDelegate mDelegate = new JalousieDelegate(this,
+			new JalousieDelegate.Host() {
+
+				@Override
+				public void superOnMeasure(int widthMeasureSpec,
+						int heightMeasureSpec) {
+					measureGrid(widthMeasureSpec, heightMeasureSpec);
+				}
+
+				@Override
+				public void superSetMeasuredDimension(int measuredWidth,
+						int measuredHeight) {
+					setMeasuredDimension(measuredWidth, measuredHeight);
+				}
+
+				@Override
+				public void superDispatchDraw(Canvas canvas) {
+					ExpandableGridJalousie.super.dispatchDraw(canvas);
+				}
+
+				@Override
+				public boolean superDrawChild(Canvas canvas, View child,
+						long drawingTime) {
+					return ExpandableGridJalousie.super.drawChild(canvas,
+							child, drawingTime);
+				}
+			});
+
+	/**
+	 * Rebinds all cells, if the data of the adapter changes.
+	 */
+	private final DataSetObserver mDataSetObserver = new DataSetObserver() {
+
+		@Override
+		public void onChanged() {
+			recycleAllCells();
+
+			mMeasuredRowHeight = -1;
+			forceRelayout();
+			requestLayout();
+		}
+
+		@Override
+		public void onInvalidated() {
+			onChanged();
+		}
+	};
+
+	/**
+	 * Binds the rows revealed by a running action and trims the cells to the
+	 * collapsed rows afterwards.
+	 */
+	private final JalousieListener mActionListener = new JalousieListener() {
+
+		@Override
+		public boolean onBeforeActionStart(final int action,
+				final boolean fromTouch) {
+			return false;
+		}
+
+		@Override
+		public void onActionStart(final int action, final int animationDuration) {
+			mActionRunning = true;
+
+			requestLayout();
+		}
+
+		@Override
+		public void onActionEnd(final int action) {
+			mActionRunning = false;
+
+			if (action == ACTION_COLLAPSE) {
+				requestLayout();
+			}
+		}
+	};
+
+	/**
+	 * Binds the rows, which are scrolled into sight, and recycles those
+	 * scrolled out of it. The cells are laid out in place, this view itself
+	 * keeps its size.
+	 */
+	private final ViewTreeObserver.OnScrollChangedListener mScrollChangedListener = new ViewTreeObserver.OnScrollChangedListener() {
+
+		@Override
+		public void onScrollChanged() {
+			if (isLayoutRequested() || getCellHeight() < 0) {
+				return;
+			}
+
+			if (fillRows()) {
+				invalidate();
+			}
+		}
+	};
+
+	/**
+	 * Recycled cells by their view type.
+	 */
+	private final SparseArray<ArrayList<View>> mScrapCells = new SparseArray<ArrayList<View>>();
+
+	/**
+	 * View types of the current cells by their position, so that a cell is
+	 * recycled by the type it was created with, even if the data changed.
+	 */
+	private final SparseIntArray mCellViewTypes = new SparseIntArray();
+
+	/**
+	 * Adapter position of the first child. The children are the cells of
+	 * consecutive positions.
+	 */
+	private int mFirstPosition = 0;
+
+	private final Rect mVisibleRect = new Rect();
+
+	private final int[] mLocation = new int[2];
+
+	private ListAdapter mAdapter;
+
+	private int mNumColumns = DEFAULT_NUM_COLUMNS;
+
+	private int mCollapsedRows = DEFAULT_COLLAPSED_ROWS;
+
+	/**
+	 * Declared height of each row or -1, if the height of the first cell is
+	 * used.
+	 */
+	private int mRowHeight = -1;
+
+	/**
+	 * Height of the first cell, which is measured once per adapter change
+	 * and width, or -1.
+	 */
+	private int mMeasuredRowHeight = -1;
+
+	private int mHorizontalSpacing = 0;
+
+	private int mVerticalSpacing = 0;
+
+	/**
+	 * Width of each column, calculated during measure.
+	 */
+	private int mColumnWidth;
+
+	/**
+	 * Height of all rows including the padding, calculated during measure.
+	 */
+	private int mContentHeight;
+
+	/**
+	 * True, while an expand or collapse action is running.
+	 */
+	private boolean mActionRunning = false;
+
+	public ExpandableGridJalousie(Context context, AttributeSet attrs,
+			int defStyle) {
+		super(context, attrs, defStyle);
+
+		init(context, attrs);
+	}
+
+	public ExpandableGridJalousie(Context context, AttributeSet attrs) {
+		super(context, attrs);
+
+		init(context, attrs);
+	}
+
+	public ExpandableGridJalousie(Context context) {
+		super(context);
+
+		init(context, null);
+	}
+
+	/**
+	 * Should only be called from constructor.
+	 */
+	private void init(final Context context, final AttributeSet attrs) {
+		mDelegate.init(context, attrs);
+		mDelegate.addJalousieListener(mActionListener);
+
+		if (attrs != null) {
+			TypedArray a = context.getTheme().obtainStyledAttributes(attrs,
+					R.styleable.ExpandableGridJalousie, 0, 0);
+
+			try {
+				mNumColumns = Math.max(a.getInt(
+						R.styleable.ExpandableGridJalousie_gridNumColumns,
+						mNumColumns), 1);
+				mCollapsedRows = Math.max(a.getInt(
+						R.styleable.ExpandableGridJalousie_collapsedRows,
+						mCollapsedRows), 1);
+				mRowHeight = a.getDimensionPixelSize(
+						R.styleable.ExpandableGridJalousie_gridRowHeight,
+						mRowHeight);
+				mHorizontalSpacing = a.getDimensionPixelSize(
+						R.styleable.ExpandableGridJalousie_gridHorizontalSpacing,
+						mHorizontalSpacing);
+				mVerticalSpacing = a.getDimensionPixelSize(
+						R.styleable.ExpandableGridJalousie_gridVerticalSpacing,
+						mVerticalSpacing);
+			} finally {
+				a.recycle();
+			}
+		}
+	}
+
+	/**
+	 * Gives access to the delegate, which implements the functionality of this
+	 * jalousie.
+	 * 
+	 * @return the delegate of this view
+	 */
+	public JalousieDelegate getJalousieDelegate() {
+		return mDelegate;
+	}
+
+	/**
+	 * Sets the adapter, which provides the cells. All rows must have the same
+	 * height.
+	 * 
+	 * @param adapter
+	 */
+	public void setAdapter(final ListAdapter adapter) {
+		if (mAdapter != null) {
+			mAdapter.unregisterDataSetObserver(mDataSetObserver);
+		}
+
+		removeAllViewsInLayout();
+		mScrapCells.clear();
+		mCellViewTypes.clear();
+
+		mAdapter = adapter;
+
+		if (mAdapter != null) {
+			mAdapter.registerDataSetObserver(mDataSetObserver);
+		}
+
+		mMeasuredRowHeight = -1;
+		forceRelayout();
+		requestLayout();
+	}
+
+	public ListAdapter getAdapter() {
+		return mAdapter;
+	}
+
+	public void setNumColumns(final int numColumns) {
+		mNumColumns = Math.max(numColumns, 1);
+
+		recycleAllCells();
+		requestLayout();
+	}
+
+	public int getNumColumns() {
+		return mNumColumns;
+	}
+
+	/**
+	 * Sets the number of rows, which are visible in collapsed state.
+	 * 
+	 * @param collapsedRows
+	 */
+	public void setCollapsedRows(final int collapsedRows) {
+		mCollapsedRows = Math.max(collapsedRows, 1);
+
+		requestLayout();
+	}
+
+	public int getCollapsedRows() {
+		return mCollapsedRows;
+	}
+
+	/**
+	 * Declares the height of each row, so that no cell has to be measured to
+	 * get it.
+	 * 
+	 * @param rowHeight
+	 *            height in pixels or -1 to take the height of the first cell
+	 */
+	public void setRowHeight(final int rowHeight) {
+		mRowHeight = rowHeight;
+
+		requestLayout();
+	}
+
+	public int getRowHeight() {
+		return mRowHeight;
+	}
+
+	public void setSpacing(final int horizontalSpacing,
+			final int verticalSpacing) {
+		mHorizontalSpacing = horizontalSpacing;
+		mVerticalSpacing = verticalSpacing;
+
+		mMeasuredRowHeight = -1;
+		requestLayout();
+	}
+
+	private int getRowCount() {
+		final int itemCount = (mAdapter == null) ? 0 : mAdapter.getCount();
+
+		return (itemCount + mNumColumns - 1) / mNumColumns;
+	}
+
+	/**
+	 * @return the size of the given number of rows including the spacing
+	 *         between them
+	 */
+	private int getRowsHeight(final int rows, final int rowHeight) {
+		return (rows > 0) ? rows * rowHeight + (rows - 1) * mVerticalSpacing
+				: 0;
+	}
+
+	/**
+	 * Calculates the expanded and the collapsed size from the row count. Only
+	 * the first cell is measured, if no row height is declared.
+	 */
+	private void measureGrid(final int widthMeasureSpec,
+			final int heightMeasureSpec) {
+		final int horizontalPadding = getPaddingLeft() + getPaddingRight();
+		final int verticalPadding = getPaddingTop() + getPaddingBottom();
+
+		final int width = getDefaultSize(getSuggestedMinimumWidth(),
+				widthMeasureSpec);
+		final int columnWidth = Math.max((width - horizontalPadding - (mNumColumns - 1)
+				* mHorizontalSpacing)
+				/ mNumColumns, 0);
+
+		if (columnWidth != mColumnWidth) {
+			mColumnWidth = columnWidth;
+			mMeasuredRowHeight = -1;
+		}
+
+		final int rowCount = getRowCount();
+		int rowHeight = mRowHeight;
+		if (rowHeight < 0 && rowCount > 0) {
+			if (mMeasuredRowHeight < 0) {
+				final View cell = (getChildCount() > 0) ? getChildAt(0)
+						: addCell(0, -1);
+				measureCell(cell, MeasureSpec.makeMeasureSpec(0,
+						MeasureSpec.UNSPECIFIED));
+
+				mMeasuredRowHeight = cell.getMeasuredHeight();
+
+				Log.v(TAG, "[measureGrid] measured row height="
+						+ mMeasuredRowHeight);
+			}
+
+			rowHeight = mMeasuredRowHeight;
+		}
+
+		final int expandedHeight = getRowsHeight(rowCount, rowHeight)
+				+ verticalPadding;
+		final int collapsedHeight = getRowsHeight(
+				Math.min(mCollapsedRows, rowCount), rowHeight)
+				+ verticalPadding;
+
+		mContentHeight = expandedHeight;
+		mDelegate.setCollapsedSize(collapsedHeight);
+
+		setMeasuredDimension(width, expandedHeight);
+	}
+
+	private void measureCell(final View cell, final int heightMeasureSpec) {
+		cell.measure(MeasureSpec.makeMeasureSpec(mColumnWidth,
+				MeasureSpec.EXACTLY), heightMeasureSpec);
+	}
+
+	@Override
+	protected void onMeasure(final int widthMeasureSpec,
+			final int heightMeasureSpec) {
+		mDelegate.onMeasure(widthMeasureSpec, heightMeasureSpec);
+	}
+
+	/**
+	 * Creates or recycles the cells for the rows, which are visible or about
+	 * to be revealed, and positions them.
+	 */
+	@Override
+	protected void onLayout(boolean changed, int l, int t, int r, int b) {
+		fillRows();
+
+		mDelegate.onLayout();
+	}
+
+	/**
+	 * @return the declared or the measured height of each row, or -1, if it
+	 *         is not known yet
+	 */
+	private int getCellHeight() {
+		return (mRowHeight >= 0) ? mRowHeight : mMeasuredRowHeight;
+	}
+
+	/**
+	 * Binds the cells of the rows, which intersect the visible rect of this
+	 * view, and recycles all other cells. While an action is running, the rows
+	 * up to the bottom of the window are bound as well, since they are
+	 * revealed by the coming frames. One more row on each side is bound, so
+	 * that a scroll does not show an empty row until the cells are updated.
+	 * 
+	 * @return true, if cells were added or removed
+	 */
+	private boolean fillRows() {
+		final int itemCount = (mAdapter == null) ? 0 : mAdapter.getCount();
+		final int rowCount = getRowCount();
+		final int maxRows = (mActionRunning || mDelegate.isExpanded()) ? rowCount
+				: Math.min(mCollapsedRows, rowCount);
+		final int rowHeight = getCellHeight();
+		final int rowStride = rowHeight + mVerticalSpacing;
+
+		int firstRow = 0;
+		int endRow = 0;
+
+		if (rowStride <= 0) {
+			endRow = maxRows;
+		} else if (getLocalVisibleRect(mVisibleRect)) {
+			int bottom = mVisibleRect.bottom;
+
+			if (mDelegate.isExpanded() && mDelegate.getMaxExpandedSize() >= 0) {
+				// the hidden section of a capped view scrolls without a layout
+				// pass
+				bottom = mContentHeight;
+			} else if (mActionRunning && bottom >= getHeight()) {
+				// this view is not clipped at its bottom, so it grows into the
+				// window
+				getLocationInWindow(mLocation);
+				bottom = Math.max(bottom, Math.min(mContentHeight,
+						getRootView().getHeight() - mLocation[1]));
+			}
+
+			firstRow = Math.max((mVisibleRect.top - getPaddingTop())
+					/ rowStride - 1, 0);
+			endRow = Math.min((bottom - getPaddingTop()) / rowStride + 2,
+					maxRows);
+		}
+
+		final int start = firstRow * mNumColumns;
+		final int end = Math.max(Math.min(endRow * mNumColumns, itemCount),
+				start);
+
+		final boolean changed = bindCells(start, end);
+
+		final int cellHeightMeasureSpec = MeasureSpec.makeMeasureSpec(
+				rowHeight, MeasureSpec.EXACTLY);
+
+		View cell;
+		int position;
+		for (int i = 0, count = getChildCount(); i < count; i++) {
+			cell = getChildAt(i);
+			position = mFirstPosition + i;
+
+			if (cell.isLayoutRequested()
+					|| cell.getMeasuredWidth() != mColumnWidth
+					|| cell.getMeasuredHeight() != rowHeight) {
+				measureCell(cell, cellHeightMeasureSpec);
+			}
+
+			final int left = getPaddingLeft() + (position % mNumColumns)
+					* (mColumnWidth + mHorizontalSpacing);
+			final int top = getPaddingTop() + (position / mNumColumns)
+					* (rowHeight + mVerticalSpacing);
+			cell.layout(left, top, left + mColumnWidth, top + rowHeight);
+		}
+
+		return changed;
+	}
+
+	/**
+	 * Makes the children the cells of the given positions. Cells, which are
+	 * already bound, are kept.
+	 * 
+	 * @return true, if cells were added or removed
+	 */
+	private boolean bindCells(final int start, final int end) {
+		final int childCount = getChildCount();
+		final int firstPosition = mFirstPosition;
+		final int endPosition = firstPosition + childCount;
+
+		if ((childCount == 0 && start == end)
+				|| (start == firstPosition && end == endPosition)) {
+			return false;
+		}
+
+		if (start >= endPosition || end <= firstPosition) {
+			recycleCells(firstPosition, endPosition);
+		} else {
+			recycleCells(Math.max(end, firstPosition), endPosition);
+			recycleCells(firstPosition, Math.min(start, endPosition));
+		}
+
+		if (getChildCount() == 0) {
+			for (int position = start; position < end; position++) {
+				addCell(position, -1);
+			}
+		} else {
+			for (int position = mFirstPosition - 1; position >= start; position--) {
+				addCell(position, 0);
+			}
+
+			for (int position = mFirstPosition + getChildCount(); position < end; position++) {
+				addCell(position, -1);
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Gets the cell for the given position from the adapter, with a recycled
+	 * cell as convert view, and adds it at the given child index.
+	 * 
+	 * @param index
+	 *            0 for a position before the first child or -1 for one after
+	 *            the last child
+	 */
+	private View addCell(final int position, final int index) {
+		final int viewType = mAdapter.getItemViewType(position);
+
+		View scrapCell = null;
+		final ArrayList<View> scrapCells = mScrapCells.get(viewType);
+		if (scrapCells != null && !scrapCells.isEmpty()) {
+			scrapCell = scrapCells.remove(scrapCells.size() - 1);
+		}
+
+		final View cell = mAdapter.getView(position, scrapCell, this);
+
+		LayoutParams params = cell.getLayoutParams();
+		if (params == null) {
+			params = generateDefaultLayoutParams();
+		}
+
+		if (index == 0 || getChildCount() == 0) {
+			mFirstPosition = position;
+		}
+
+		addViewInLayout(cell, index, params, true);
+		mCellViewTypes.put(position, viewType);
+
+		return cell;
+	}
+
+	private void recycleAllCells() {
+		recycleCells(mFirstPosition, mFirstPosition + getChildCount());
+	}
+
+	/**
+	 * Removes the cells of the given positions and puts them into the pool.
+	 * The positions must be at the start or at the end of the children.
+	 * 
+	 * @param fromPosition
+	 *            first position, inclusive
+	 * @param toPosition
+	 *            last position, exclusive
+	 */
+	private void recycleCells(final int fromPosition, final int toPosition) {
+		if (fromPosition >= toPosition) {
+			return;
+		}
+
+		for (int position = fromPosition; position < toPosition; position++) {
+			final int viewType = mCellViewTypes.get(position);
+			mCellViewTypes.delete(position);
+
+			if (viewType == AdapterView.ITEM_VIEW_TYPE_IGNORE) {
+				continue;
+			}
+
+			ArrayList<View> scrapCells = mScrapCells.get(viewType);
+			if (scrapCells == null) {
+				scrapCells = new ArrayList<View>();
+				mScrapCells.put(viewType, scrapCells);
+			}
+			scrapCells.add(getChildAt(position - mFirstPosition));
+		}
+
+		removeViewsInLayout(fromPosition - mFirstPosition, toPosition
+				- fromPosition);
+
+		if (fromPosition == mFirstPosition) {
+			mFirstPosition = toPosition;
+		}
+
+		Log.v(TAG, "[recycleCells] recycled=" + (toPosition - fromPosition));
+	}
+
+	@Override
+	protected LayoutParams generateDefaultLayoutParams() {
+		return new LayoutParams(LayoutParams.MATCH_PARENT,
+				LayoutParams.WRAP_CONTENT);
+	}
+
+	@Override
+	protected void onFinishInflate() {
+		super.onFinishInflate();
+
+		mDelegate.onFinishInflate();
+	}
+
+	@Override
+	protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+		super.onSizeChanged(w, h, oldw, oldh);
+
+		mDelegate.onSizeChanged(w, h, oldw, oldh);
+	}
+
+	@Override
+	protected void onAttachedToWindow() {
+		super.onAttachedToWindow();
+
+		mDelegate.onAttachedToWindow();
+		getViewTreeObserver().addOnScrollChangedListener(
+				mScrollChangedListener);
+	}
+
+	@Override
+	protected void onDetachedFromWindow() {
+		super.onDetachedFromWindow();
+
+		mDelegate.onDetachedFromWindow();
+		getViewTreeObserver().removeOnScrollChangedListener(
+				mScrollChangedListener);
+	}
+
+	@Override
+	protected void dispatchDraw(Canvas canvas) {
+		mDelegate.dispatchDraw(canvas);
+	}
+
+	@Override
+	protected boolean drawChild(Canvas canvas, View child, long drawingTime) {
+		return mDelegate.drawChild(canvas, child, drawingTime);
+	}
+
+	@Override
+	public ViewParent invalidateChildInParent(int[] location, Rect dirty) {
+		if (mDelegate.isInvalidationCulled(location, dirty)) {
+			return null;
+		}
+
+		mDelegate.offsetInvalidation(location);
+
+		return super.invalidateChildInParent(location, dirty);
+	}
+
+	@Override
+	public boolean dispatchTouchEvent(MotionEvent ev) {
+		mDelegate.beforeDispatchTouchEvent(ev);
+		final boolean handled = super.dispatchTouchEvent(ev);
+		mDelegate.afterDispatchTouchEvent(ev);
+
+		return handled;
+	}
+
+	@Override
+	public boolean onInterceptTouchEvent(MotionEvent ev) {
+		return mDelegate.onInterceptTouchEvent(ev)
+				|| super.onInterceptTouchEvent(ev);
+	}
+
+	@Override
+	public boolean onTouchEvent(MotionEvent event) {
+		return mDelegate.onTouchEvent(event) || super.onTouchEvent(event);
+	}
+
+	@Override
+	protected Parcelable onSaveInstanceState() {
+		return mDelegate.onSaveInstanceState(super.onSaveInstanceState());
+	}
+
+	@Override
+	protected void onRestoreInstanceState(Parcelable state) {
+		super.onRestoreInstanceState(mDelegate.onRestoreInstanceState(state));
+	}
+
+	public void forceRelayout() {
+		mDelegate.forceRelayout();
+	}
+
+	@Override
+	public int getContentGravity() {
+		return mDelegate.getContentGravity();
+	}
+
+	@Override
+	public int getCurrentWidth() {
+		return mDelegate.getCurrentWidth();
+	}
+
+	@Override
+	public void setCurrentWidth(int currentWidth) {
+		mDelegate.setCurrentWidth(currentWidth);
+	}
+
+	@Override
+	public int getCurrentHeight() {
+		return mDelegate.getCurrentHeight();
+	}
+
+	@Override
+	public void setCurrentHeight(final int currentHeight) {
+		mDelegate.setCurrentHeight(currentHeight);
+	}
+
+	@Override
+	public boolean expand() {
+		return mDelegate.expand();
+	}
+
+	@Override
+	public boolean expand(boolean animated) {
+		return mDelegate.expand(animated);
+	}
+
+	@Override
+	public boolean collapse() {
+		return mDelegate.collapse();
+	}
+
+	@Override
+	public boolean collapse(boolean animated) {
+		return mDelegate.collapse(animated);
+	}
+
+	@Override
+	public boolean toggle() {
+		return mDelegate.toggle();
+	}
+
+	@Override
+	public boolean toggle(boolean animated) {
+		return mDelegate.toggle(animated);
+	}
+
+	@Override
+	public boolean isExpanded() {
+		return mDelegate.isExpanded();
+	}
+
+	@Override
+	public boolean isCollapsed() {
+		return mDelegate.isCollapsed();
+	}
+
+	@Override
+	public boolean isExpandable() {
+		return mDelegate.isExpandable();
+	}
+
+	@Override
+	public boolean setExpansionFraction(final float fraction) {
+		return mDelegate.setExpansionFraction(fraction);
+	}
+
+	@Override
+	public float getExpansionFraction() {
+		return mDelegate.getExpansionFraction();
+	}
+
+	@Override
+	public void setIsAlwaysExpanded(final boolean alwaysExpanded) {
+		mDelegate.setIsAlwaysExpanded(alwaysExpanded);
+	}
+
+	@Override
+	public void setIsAlwaysCollapsed(final boolean alwaysCollapsed) {
+		mDelegate.setIsAlwaysCollapsed(alwaysCollapsed);
+	}
+
+	@Override
+	public void setAnimationEnabled(final boolean animationEnabled) {
+		mDelegate.setAnimationEnabled(animationEnabled);
+	}
+
+	@Override
+	public void setAnimationDuration(final int animationDuration) {
+		mDelegate.setAnimationDuration(animationDuration);
+	}
+
+	@Override
+	public void setInterpolator(final Interpolator interpolator) {
+		mDelegate.setInterpolator(interpolator);
+	}
+
+	/**
+	 * @see JalousieDelegate#setScrollWithExpansion(boolean)
+	 */
+	public void setScrollWithExpansion(final boolean scrollWithExpansion) {
+		mDelegate.setScrollWithExpansion(scrollWithExpansion);
+	}
+
+	public boolean isScrollWithExpansion() {
+		return mDelegate.isScrollWithExpansion();
+	}
+
+	/**
+	 * @see JalousieDelegate#setScrollLinked(boolean)
+	 */
+	public void setScrollLinked(final boolean scrollLinked) {
+		mDelegate.setScrollLinked(scrollLinked);
+	}
+
+	public boolean isScrollLinked() {
+		return mDelegate.isScrollLinked();
+	}
+
+	/**
+	 * @see JalousieDelegate#consumeScrollDelta(int)
+	 */
+	public int consumeScrollDelta(final int delta) {
+		return mDelegate.consumeScrollDelta(delta);
+	}
+
+	/**
+	 * @see JalousieDelegate#onScrollStopped()
+	 */
+	public void onScrollStopped() {
+		mDelegate.onScrollStopped();
+	}
+
+	/**
+	 * @see JalousieDelegate#setAdaptiveQuality(boolean)
+	 */
+	public void setAdaptiveQuality(final boolean adaptiveQuality) {
+		mDelegate.setAdaptiveQuality(adaptiveQuality);
+	}
+
+	public boolean isAdaptiveQuality() {
+		return mDelegate.isAdaptiveQuality();
+	}
+
+	/**
+	 * @see JalousieDelegate#setSnapshotAnimation(boolean)
+	 */
+	public void setSnapshotAnimation(final boolean snapshotAnimation) {
+		mDelegate.setSnapshotAnimation(snapshotAnimation);
+	}
+
+	public boolean isSnapshotAnimation() {
+		return mDelegate.isSnapshotAnimation();
+	}
+
+	/**
+	 * @see JalousieDelegate#setSpringAnimation(boolean)
+	 */
+	public void setSpringAnimation(final boolean springAnimation) {
+		mDelegate.setSpringAnimation(springAnimation);
+	}
+
+	public boolean isSpringAnimation() {
+		return mDelegate.isSpringAnimation();
+	}
+
+	/**
+	 * @see JalousieDelegate#setSpringConfiguration(float, float)
+	 */
+	public void setSpringConfiguration(final float stiffness,
+			final float dampingRatio) {
+		mDelegate.setSpringConfiguration(stiffness, dampingRatio);
+	}
+
+	/**
+	 * @see JalousieDelegate#setMaxExpandedSize(int)
+	 */
+	public void setMaxExpandedSize(final int maxExpandedSize) {
+		mDelegate.setMaxExpandedSize(maxExpandedSize);
+	}
+
+	public int getMaxExpandedSize() {
+		return mDelegate.getMaxExpandedSize();
+	}
+
+	/**
+	 * @see JalousieDelegate#setCollapsedChildCount(int)
+	 */
+	public void setCollapsedChildCount(final int collapsedChildCount) {
+		mDelegate.setCollapsedChildCount(collapsedChildCount);
+	}
+
+	public int getCollapsedChildCount() {
+		return mDelegate.getCollapsedChildCount();
+	}
+
+	/**
+	 * @see JalousieDelegate#setContentLoader(JalousieContentLoader)
+	 */
+	public void setContentLoader(final JalousieContentLoader contentLoader) {
+		mDelegate.setContentLoader(contentLoader);
+	}
+
+	/**
+	 * @see JalousieDelegate#invalidateContent()
+	 */
+	public void invalidateContent() {
+		mDelegate.invalidateContent();
+	}
+
+	/**
+	 * @see JalousieDelegate#prefetch()
+	 */
+	public void prefetch() {
+		mDelegate.prefetch();
+	}
+
+	/**
+	 * @see JalousieDelegate#setPrefetchDistance(int)
+	 */
+	public void setPrefetchDistance(final int prefetchDistance) {
+		mDelegate.setPrefetchDistance(prefetchDistance);
+	}
+
+	/**
+	 * @see JalousieDelegate#setExpansionPlaceholderSize(int)
+	 */
+	public void setExpansionPlaceholderSize(final int placeholderSize) {
+		mDelegate.setExpansionPlaceholderSize(placeholderSize);
+	}
+
+	/**
+	 * @see JalousieDelegate#scrollHiddenSectionTo(int)
+	 */
+	public void scrollHiddenSectionTo(final int position) {
+		mDelegate.scrollHiddenSectionTo(position);
+	}
+
+	/**
+	 * @see JalousieDelegate#invalidateSnapshot()
+	 */
+	public void invalidateSnapshot() {
+		mDelegate.invalidateSnapshot();
+	}
+
+	/**
+	 * @see JalousieDelegate#setJalousieSpec(JalousieSpec)
+	 */
+	public void setJalousieSpec(final JalousieSpec spec) {
+		mDelegate.setJalousieSpec(spec);
+	}
+
+	public JalousieSpec getJalousieSpec() {
+		return mDelegate.getJalousieSpec();
+	}
+
+	@Override
+	public void addJalousieListener(final JalousieListener listener) {
+		mDelegate.addJalousieListener(listener);
+	}
+
+	@Override
+	public boolean removeJalousieListener(final JalousieListener listener) {
+		return mDelegate.removeJalousieListener(listener);
+	}
+
+}
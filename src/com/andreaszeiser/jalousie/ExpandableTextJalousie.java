@@ -0,0 +1,844 @@
+/*
+ * Copyright (C) 2012 Andreas Zeiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andreaszeiser.jalousie;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Parcelable;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+import android.view.animation.Interpolator;
+
+import com.andreaszeiser.jalousie.util.Log;
+
+/**
+ * A jalousie for long texts, which collapses to a given number of lines. The
+ * last visible line is ellipsized in collapsed state.
+ * 
+ * Unlike a TextView within a {@link LinearLayoutJalousie}, the text is never
+ * measured on the main thread. The full and the truncated layout are created
+ * on a background thread and cached by text and width in
+ * {@link TextLayoutCache}. Until they are available, this view takes the
+ * height of the collapsed lines. Expand and collapse only change the clipping
+ * of the full layout, the text is not measured again.
+ * 
+ * This view has no children and only supports vertical content gravity.
+ * 
+ * @author Andreas Zeiser
+ * 
+ */
+public class ExpandableTextJalousie extends ViewGroup implements Jalousie {
+
+	private static final String TAG = ExpandableTextJalousie.class
+			.getSimpleName();
+
+	/**
+	 * Default number of lines in collapsed state.
+	 */
+	public static final int DEFAULT_COLLAPSED_LINES = 3;
+
+	/**
+	 * Default text size in sp.
+	 */
+	private static final int DEFAULT_TEXT_SIZE = 14;
+
+	/**
+	 * Default text color.
+	 */
+	private static final int DEFAULT_COLOR = 0xff333333;
+
+	/**
+	 * Delivers the layouts created on the background thread.
+	 */
+	private static final Handler sMainHandler = new Handler(
+			Looper.getMainLooper());
+
+	private final JalousieDelegate mDelegate = new JalousieDelegate(this,
+			new JalousieDelegate.Host() {
+
+				@Override
+				public void superOnMeasure(int widthMeasureSpec,
+						int heightMeasureSpec) {
+					measureText(widthMeasureSpec, heightMeasureSpec);
+				}
+
+				@Override
+				public void superSetMeasuredDimension(int measuredWidth,
+						int measuredHeight) {
+					setMeasuredDimension(measuredWidth, measuredHeight);
+				}
+
+				@Override
+				public void superDispatchDraw(Canvas canvas) {
+					ExpandableTextJalousie.super.dispatchDraw(canvas);
+				}
+
+				@Override
+				public boolean superDrawChild(Canvas canvas, View child,
+						long drawingTime) {
+					return ExpandableTextJalousie.super.drawChild(canvas,
+							child, drawingTime);
+				}
+			});
+
+	/**
+	 * Paint of the text. Is only used on the main thread, the background
+	 * thread works on a copy.
+	 */
+	private final TextPaint mTextPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+
+	private CharSequence mText = "";
+
+	private int mCollapsedLines = DEFAULT_COLLAPSED_LINES;
+
+	private float mLineSpacingMultiplier = 1f;
+
+	private float mLineSpacingExtra = 0f;
+
+	/**
+	 * The layouts, which are drawn, or <code>null</code>, if no layout was
+	 * created yet.
+	 */
+	private TextLayoutCache.Layouts mLayouts;
+
+	/**
+	 * The key of {@link #mLayouts}.
+	 */
+	private TextLayoutCache.Key mLayoutsKey;
+
+	/**
+	 * The key of the layouts, which are created on the background thread at
+	 * the moment, or <code>null</code>.
+	 */
+	private TextLayoutCache.Key mPendingKey;
+
+	public ExpandableTextJalousie(Context context, AttributeSet attrs,
+			int defStyle) {
+		super(context, attrs, defStyle);
+
+		init(context, attrs);
+	}
+
+	public ExpandableTextJalousie(Context context, AttributeSet attrs) {
+		super(context, attrs);
+
+		init(context, attrs);
+	}
+
+	public ExpandableTextJalousie(Context context) {
+		super(context);
+
+		init(context, null);
+	}
+
+	/**
+	 * Should only be called from constructor.
+	 */
+	private void init(final Context context, final AttributeSet attrs) {
+		mDelegate.init(context, attrs);
+
+		float textSize = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP,
+				DEFAULT_TEXT_SIZE, getResources().getDisplayMetrics());
+		int textColor = DEFAULT_COLOR;
+
+		if (attrs != null) {
+			TypedArray a = context.getTheme().obtainStyledAttributes(attrs,
+					R.styleable.ExpandableTextJalousie, 0, 0);
+
+			try {
+				final CharSequence text = a
+						.getText(R.styleable.ExpandableTextJalousie_expandableText);
+				if (text != null) {
+					mText = text;
+				}
+
+				textSize = a.getDimension(
+						R.styleable.ExpandableTextJalousie_expandableTextSize,
+						textSize);
+				textColor = a.getColor(
+						R.styleable.ExpandableTextJalousie_expandableTextColor,
+						textColor);
+				mCollapsedLines = a.getInt(
+						R.styleable.ExpandableTextJalousie_collapsedLines,
+						mCollapsedLines);
+				mLineSpacingExtra = a.getDimension(
+						R.styleable.ExpandableTextJalousie_expandableLineSpacingExtra,
+						mLineSpacingExtra);
+			} finally {
+				a.recycle();
+			}
+		}
+
+		mTextPaint.setTextSize(textSize);
+		mTextPaint.setColor(textColor);
+
+		// the text is drawn by this view itself
+		setWillNotDraw(false);
+	}
+
+	/**
+	 * Gives access to the delegate, which implements the functionality of this
+	 * jalousie.
+	 * 
+	 * @return the delegate of this view
+	 */
+	public JalousieDelegate getJalousieDelegate() {
+		return mDelegate;
+	}
+
+	/**
+	 * Sets the text. Its layouts are created on a background thread, if they
+	 * are not cached yet. Until then, nothing is drawn.
+	 * 
+	 * @param text
+	 */
+	public void setText(final CharSequence text) {
+		mText = (text == null) ? "" : text;
+
+		clearLayouts();
+		requestLayout();
+		invalidate();
+	}
+
+	public CharSequence getText() {
+		return mText;
+	}
+
+	/**
+	 * Sets the number of lines, which are visible in collapsed state.
+	 * 
+	 * @param collapsedLines
+	 */
+	public void setCollapsedLines(final int collapsedLines) {
+		mCollapsedLines = Math.max(collapsedLines, 1);
+
+		clearLayouts();
+		requestLayout();
+		invalidate();
+	}
+
+	public int getCollapsedLines() {
+		return mCollapsedLines;
+	}
+
+	public void setTextSize(final float textSize) {
+		mTextPaint.setTextSize(textSize);
+
+		clearLayouts();
+		requestLayout();
+		invalidate();
+	}
+
+	public void setTypeface(final Typeface typeface) {
+		mTextPaint.setTypeface(typeface);
+
+		clearLayouts();
+		requestLayout();
+		invalidate();
+	}
+
+	public void setLineSpacing(final float extra, final float multiplier) {
+		mLineSpacingExtra = extra;
+		mLineSpacingMultiplier = multiplier;
+
+		clearLayouts();
+		requestLayout();
+		invalidate();
+	}
+
+	/**
+	 * Changes only the color of the text, the layouts are kept.
+	 * 
+	 * @param color
+	 */
+	public void setTextColor(final int color) {
+		mTextPaint.setColor(color);
+
+		invalidate();
+	}
+
+	/**
+	 * Drops the layouts of the previous text or text appearance, so that they
+	 * are not drawn, until the layouts of the current one arrive. Layouts,
+	 * which are still created for the previous one, are not applied.
+	 */
+	private void clearLayouts() {
+		mLayouts = null;
+		mLayoutsKey = null;
+		mPendingKey = null;
+	}
+
+	/**
+	 * Measures the text in expanded state from the cached layouts. If there
+	 * are no layouts for the current text and width yet, they are requested
+	 * from the background thread. Meanwhile the previous layouts are used, if
+	 * only the width changed, otherwise the height of the collapsed lines.
+	 */
+	private void measureText(final int widthMeasureSpec,
+			final int heightMeasureSpec) {
+		final int horizontalPadding = getPaddingLeft() + getPaddingRight();
+		final int verticalPadding = getPaddingTop() + getPaddingBottom();
+
+		final int width;
+		if (MeasureSpec.getMode(widthMeasureSpec) == MeasureSpec.UNSPECIFIED) {
+			// there is no width to wrap the text at, so the text has to be
+			// measured right away
+			width = (int) Math.ceil(Layout.getDesiredWidth(mText, mTextPaint))
+					+ horizontalPadding;
+		} else {
+			width = MeasureSpec.getSize(widthMeasureSpec);
+		}
+
+		final int textWidth = Math.max(width - horizontalPadding, 0);
+		final float textSize = mTextPaint.getTextSize();
+		final Typeface typeface = mTextPaint.getTypeface();
+
+		// the delegate measures on each animation frame, so the current
+		// layouts are recognized without allocating a key
+		if (!matches(mLayoutsKey, textWidth, textSize, typeface)
+				&& !matches(mPendingKey, textWidth, textSize, typeface)) {
+			final TextLayoutCache.Key key = new TextLayoutCache.Key(mText,
+					textWidth, textSize, typeface, mLineSpacingMultiplier,
+					mLineSpacingExtra, mCollapsedLines);
+			final TextLayoutCache.Layouts layouts = TextLayoutCache.get(key);
+
+			if (layouts != null) {
+				mLayouts = layouts;
+				mLayoutsKey = key;
+				mPendingKey = null;
+			} else if (!key.equals(mPendingKey)) {
+				requestLayouts(key);
+			}
+		}
+
+		final int expandedHeight;
+		final int collapsedHeight;
+		if (mLayouts != null) {
+			final Layout full = mLayouts.full;
+			final int lines = Math.min(mCollapsedLines, full.getLineCount());
+
+			expandedHeight = full.getHeight() + verticalPadding;
+			collapsedHeight = full.getLineTop(lines) + verticalPadding;
+		} else {
+			final Paint.FontMetricsInt fontMetrics = mTextPaint
+					.getFontMetricsInt();
+			final int lineHeight = fontMetrics.descent - fontMetrics.ascent;
+
+			expandedHeight = mCollapsedLines * lineHeight + verticalPadding;
+			collapsedHeight = expandedHeight;
+		}
+
+		mDelegate.setCollapsedSize(collapsedHeight);
+
+		setMeasuredDimension(width, expandedHeight);
+	}
+
+	private boolean matches(final TextLayoutCache.Key key, final int width,
+			final float textSize, final Typeface typeface) {
+		return key != null
+				&& key.matches(mText, width, textSize, typeface,
+						mLineSpacingMultiplier, mLineSpacingExtra,
+						mCollapsedLines);
+	}
+
+	/**
+	 * Creates the layouts for the given key on the background thread and
+	 * applies them on the main thread, if the key is still current.
+	 */
+	private void requestLayouts(final TextLayoutCache.Key key) {
+		Log.v(TAG, "[requestLayouts] width=" + key.width + ", length="
+				+ key.text.length());
+
+		mPendingKey = key;
+
+		final TextPaint paint = new TextPaint(mTextPaint);
+
+		TextLayoutCache.execute(new Runnable() {
+
+			@Override
+			public void run() {
+				final TextLayoutCache.Layouts layouts = createLayouts(key,
+						paint);
+
+				sMainHandler.post(new Runnable() {
+
+					@Override
+					public void run() {
+						TextLayoutCache.put(key, layouts);
+
+						if (key.equals(mPendingKey)) {
+							mLayouts = layouts;
+							mLayoutsKey = key;
+							mPendingKey = null;
+
+							requestLayout();
+							invalidate();
+						}
+					}
+				});
+			}
+		});
+	}
+
+	/**
+	 * Creates the full and the truncated layout. Runs on the background
+	 * thread.
+	 */
+	private static TextLayoutCache.Layouts createLayouts(
+			final TextLayoutCache.Key key, final TextPaint paint) {
+		final CharSequence text = key.text;
+		final Layout full = new StaticLayout(text, paint, key.width,
+				Layout.Alignment.ALIGN_NORMAL, key.lineSpacingMultiplier,
+				key.lineSpacingExtra, false);
+
+		Layout truncated = null;
+		if (full.getLineCount() > key.collapsedLines) {
+			// the last collapsed line takes the remaining text, ellipsized to
+			// the width of a single line
+			final int lastLineStart = full.getLineStart(key.collapsedLines - 1);
+			CharSequence lastLine = TextUtils.ellipsize(
+					text.subSequence(lastLineStart, text.length()), paint,
+					key.width, TextUtils.TruncateAt.END);
+
+			final int lineBreak = TextUtils.indexOf(lastLine, '\n');
+			if (lineBreak >= 0) {
+				lastLine = TextUtils.concat(lastLine.subSequence(0, lineBreak),
+						"\u2026");
+			}
+
+			truncated = new StaticLayout(TextUtils.concat(
+					text.subSequence(0, lastLineStart), lastLine), paint,
+					key.width, Layout.Alignment.ALIGN_NORMAL,
+					key.lineSpacingMultiplier, key.lineSpacingExtra, false);
+		}
+
+		return new TextLayoutCache.Layouts(full, truncated);
+	}
+
+	@Override
+	protected void onMeasure(final int widthMeasureSpec,
+			final int heightMeasureSpec) {
+		mDelegate.onMeasure(widthMeasureSpec, heightMeasureSpec);
+	}
+
+	@Override
+	protected void onLayout(boolean changed, int l, int t, int r, int b) {
+		mDelegate.onLayout();
+	}
+
+	@Override
+	protected void onDraw(Canvas canvas) {
+		super.onDraw(canvas);
+
+		if (mLayouts == null) {
+			return;
+		}
+
+		final int textHeight = getHeight() - getPaddingTop()
+				- getPaddingBottom();
+
+		// the truncated layout is drawn only if the view has settled in
+		// collapsed state, during the animation the full layout is clipped
+		Layout layout = mLayouts.full;
+		if (mLayouts.truncated != null
+				&& textHeight <= mLayouts.truncated.getHeight()) {
+			layout = mLayouts.truncated;
+		}
+
+		// the layouts may be shared with other views, so the current color is
+		// applied right before drawing
+		layout.getPaint().setColor(mTextPaint.getColor());
+
+		final int saveCount = canvas.save();
+		canvas.translate(getPaddingLeft(), getPaddingTop());
+		canvas.clipRect(0, 0, layout.getWidth(), textHeight);
+		layout.draw(canvas);
+		canvas.restoreToCount(saveCount);
+	}
+
+	@Override
+	protected void onFinishInflate() {
+		super.onFinishInflate();
+
+		mDelegate.onFinishInflate();
+	}
+
+	@Override
+	protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+		super.onSizeChanged(w, h, oldw, oldh);
+
+		mDelegate.onSizeChanged(w, h, oldw, oldh);
+	}
+
+	@Override
+	protected void onAttachedToWindow() {
+		super.onAttachedToWindow();
+
+		mDelegate.onAttachedToWindow();
+	}
+
+	@Override
+	protected void onDetachedFromWindow() {
+		super.onDetachedFromWindow();
+
+		mDelegate.onDetachedFromWindow();
+	}
+
+	@Override
+	protected void dispatchDraw(Canvas canvas) {
+		mDelegate.dispatchDraw(canvas);
+	}
+
+	@Override
+	protected boolean drawChild(Canvas canvas, View child, long drawingTime) {
+		return mDelegate.drawChild(canvas, child, drawingTime);
+	}
+
+	@Override
+	public ViewParent invalidateChildInParent(int[] location, Rect dirty) {
+		if (mDelegate.isInvalidationCulled(location, dirty)) {
+			return null;
+		}
+
+		mDelegate.offsetInvalidation(location);
+
+		return super.invalidateChildInParent(location, dirty);
+	}
+
+	@Override
+	public boolean dispatchTouchEvent(MotionEvent ev) {
+		mDelegate.beforeDispatchTouchEvent(ev);
+		final boolean handled = super.dispatchTouchEvent(ev);
+		mDelegate.afterDispatchTouchEvent(ev);
+
+		return handled;
+	}
+
+	@Override
+	public boolean onInterceptTouchEvent(MotionEvent ev) {
+		return mDelegate.onInterceptTouchEvent(ev)
+				|| super.onInterceptTouchEvent(ev);
+	}
+
+	@Override
+	public boolean onTouchEvent(MotionEvent event) {
+		return mDelegate.onTouchEvent(event) || super.onTouchEvent(event);
+	}
+
+	@Override
+	protected Parcelable onSaveInstanceState() {
+		return mDelegate.onSaveInstanceState(super.onSaveInstanceState());
+	}
+
+	@Override
+	protected void onRestoreInstanceState(Parcelable state) {
+		super.onRestoreInstanceState(mDelegate.onRestoreInstanceState(state));
+	}
+
+	public void forceRelayout() {
+		mDelegate.forceRelayout();
+	}
+
+	@Override
+	public int getContentGravity() {
+		return mDelegate.getContentGravity();
+	}
+
+	@Override
+	public int getCurrentWidth() {
+		return mDelegate.getCurrentWidth();
+	}
+
+	@Override
+	public void setCurrentWidth(int currentWidth) {
+		mDelegate.setCurrentWidth(currentWidth);
+	}
+
+	@Override
+	public int getCurrentHeight() {
+		return mDelegate.getCurrentHeight();
+	}
+
+	@Override
+	public void setCurrentHeight(final int currentHeight) {
+		mDelegate.setCurrentHeight(currentHeight);
+	}
+
+	@Override
+	public boolean expand() {
+		return mDelegate.expand();
+	}
+
+	@Override
+	public boolean expand(boolean animated) {
+		return mDelegate.expand(animated);
+	}
+
+	@Override
+	public boolean collapse() {
+		return mDelegate.collapse();
+	}
+
+	@Override
+	public boolean collapse(boolean animated) {
+		return mDelegate.collapse(animated);
+	}
+
+	@Override
+	public boolean toggle() {
+		return mDelegate.toggle();
+	}
+
+	@Override
+	public boolean toggle(boolean animated) {
+		return mDelegate.toggle(animated);
+	}
+
+	@Override
+	public boolean isExpanded() {
+		return mDelegate.isExpanded();
+	}
+
+	@Override
+	public boolean isCollapsed() {
+		return mDelegate.isCollapsed();
+	}
+
+	@Override
+	public boolean isExpandable() {
+		return mDelegate.isExpandable();
+	}
+
+	@Override
+	public boolean setExpansionFraction(final float fraction) {
+		return mDelegate.setExpansionFraction(fraction);
+	}
+
+	@Override
+	public float getExpansionFraction() {
+		return mDelegate.getExpansionFraction();
+	}
+
+	@Override
+	public void setIsAlwaysExpanded(final boolean alwaysExpanded) {
+		mDelegate.setIsAlwaysExpanded(alwaysExpanded);
+	}
+
+	@Override
+	public void setIsAlwaysCollapsed(final boolean alwaysCollapsed) {
+		mDelegate.setIsAlwaysCollapsed(alwaysCollapsed);
+	}
+
+	@Override
+	public void setAnimationEnabled(final boolean animationEnabled) {
+		mDelegate.setAnimationEnabled(animationEnabled);
+	}
+
+	@Override
+	public void setAnimationDuration(final int animationDuration) {
+		mDelegate.setAnimationDuration(animationDuration);
+	}
+
+	@Override
+	public void setInterpolator(final Interpolator interpolator) {
+		mDelegate.setInterpolator(interpolator);
+	}
+
+	/**
+	 * @see JalousieDelegate#setScrollWithExpansion(boolean)
+	 */
+	public void setScrollWithExpansion(final boolean scrollWithExpansion) {
+		mDelegate.setScrollWithExpansion(scrollWithExpansion);
+	}
+
+	public boolean isScrollWithExpansion() {
+		return mDelegate.isScrollWithExpansion();
+	}
+
+	/**
+	 * @see JalousieDelegate#setScrollLinked(boolean)
+	 */
+	public void setScrollLinked(final boolean scrollLinked) {
+		mDelegate.setScrollLinked(scrollLinked);
+	}
+
+	public boolean isScrollLinked() {
+		return mDelegate.isScrollLinked();
+	}
+
+	/**
+	 * @see JalousieDelegate#consumeScrollDelta(int)
+	 */
+	public int consumeScrollDelta(final int delta) {
+		return mDelegate.consumeScrollDelta(delta);
+	}
+
+	/**
+	 * @see JalousieDelegate#onScrollStopped()
+	 */
+	public void onScrollStopped() {
+		mDelegate.onScrollStopped();
+	}
+
+	/**
+	 * @see JalousieDelegate#setAdaptiveQuality(boolean)
+	 */
+	public void setAdaptiveQuality(final boolean adaptiveQuality) {
+		mDelegate.setAdaptiveQuality(adaptiveQuality);
+	}
+
+	public boolean isAdaptiveQuality() {
+		return mDelegate.isAdaptiveQuality();
+	}
+
+	/**
+	 * @see JalousieDelegate#setSnapshotAnimation(boolean)
+	 */
+	public void setSnapshotAnimation(final boolean snapshotAnimation) {
+		mDelegate.setSnapshotAnimation(snapshotAnimation);
+	}
+
+	public boolean isSnapshotAnimation() {
+		return mDelegate.isSnapshotAnimation();
+	}
+
+	/**
+	 * @see JalousieDelegate#setSpringAnimation(boolean)
+	 */
+	public void setSpringAnimation(final boolean springAnimation) {
+		mDelegate.setSpringAnimation(springAnimation);
+	}
+
+	public boolean isSpringAnimation() {
+		return mDelegate.isSpringAnimation();
+	}
+
+	/**
+	 * @see JalousieDelegate#setSpringConfiguration(float, float)
+	 */
+	public void setSpringConfiguration(final float stiffness,
+			final float dampingRatio) {
+		mDelegate.setSpringConfiguration(stiffness, dampingRatio);
+	}
+
+	/**
+	 * @see JalousieDelegate#setMaxExpandedSize(int)
+	 */
+	public void setMaxExpandedSize(final int maxExpandedSize) {
+		mDelegate.setMaxExpandedSize(maxExpandedSize);
+	}
+
+	public int getMaxExpandedSize() {
+		return mDelegate.getMaxExpandedSize();
+	}
+
+	/**
+	 * @see JalousieDelegate#setCollapsedChildCount(int)
+	 */
+	public void setCollapsedChildCount(final int collapsedChildCount) {
+		mDelegate.setCollapsedChildCount(collapsedChildCount);
+	}
+
+	public int getCollapsedChildCount() {
+		return mDelegate.getCollapsedChildCount();
+	}
+
+	/**
+	 * @see JalousieDelegate#setContentLoader(JalousieContentLoader)
+	 */
+	public void setContentLoader(final JalousieContentLoader contentLoader) {
+		mDelegate.setContentLoader(contentLoader);
+	}
+
+	/**
+	 * @see JalousieDelegate#invalidateContent()
+	 */
+	public void invalidateContent() {
+		mDelegate.invalidateContent();
+	}
+
+	/**
+	 * @see JalousieDelegate#prefetch()
+	 */
+	public void prefetch() {
+		mDelegate.prefetch();
+	}
+
+	/**
+	 * @see JalousieDelegate#setPrefetchDistance(int)
+	 */
+	public void setPrefetchDistance(final int prefetchDistance) {
+		mDelegate.setPrefetchDistance(prefetchDistance);
+	}
+
+	/**
+	 * @see JalousieDelegate#setExpansionPlaceholderSize(int)
+	 */
+	public void setExpansionPlaceholderSize(final int placeholderSize) {
+		mDelegate.setExpansionPlaceholderSize(placeholderSize);
+	}
+
+	/**
+	 * @see JalousieDelegate#scrollHiddenSectionTo(int)
+	 */
+	public void scrollHiddenSectionTo(final int position) {
+		mDelegate.scrollHiddenSectionTo(position);
+	}
+
+	/**
+	 * @see JalousieDelegate#invalidateSnapshot()
+	 */
+	public void invalidateSnapshot() {
+		mDelegate.invalidateSnapshot();
+	}
+
+	/**
+	 * @see JalousieDelegate#setJalousieSpec(JalousieSpec)
+	 */
+	public void setJalousieSpec(final JalousieSpec spec) {
+		mDelegate.setJalousieSpec(spec);
+	}
+
+	public JalousieSpec getJalousieSpec() {
+		return mDelegate.getJalousieSpec();
+	}
+
+	@Override
+	public void addJalousieListener(final JalousieListener listener) {
+		mDelegate.addJalousieListener(listener);
+	}
+
+	@Override
+	public boolean removeJalousieListener(final JalousieListener listener) {
+		return mDelegate.removeJalousieListener(listener);
+	}
+
+}
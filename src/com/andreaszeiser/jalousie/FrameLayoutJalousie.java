@@ -0,0 +1,520 @@
+/*
+ * Copyright (C) 2012 Andreas Zeiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andreaszeiser.jalousie;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.os.Parcelable;
+import android.util.AttributeSet;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewParent;
+import android.view.animation.Interpolator;
+import android.widget.FrameLayout;
+
+/**
+ * Based on the class FrameLayout, this class provides the functionality to
+ * expand or collapse the size of this view, so that more or less content is
+ * visible.
+ * 
+ * The collapsed size is defined by the position of the {@link Separator}
+ * after layout, e.g. through its top margin. Use the attribute
+ * <code>contentGravity</code> to define the direction of expansion, default
+ * is vertical.
+ * 
+ * The whole functionality is implemented in {@link JalousieDelegate}.
+ * 
+ * @author Andreas Zeiser
+ * 
+ */
+public class FrameLayoutJalousie extends FrameLayout implements Jalousie {
+
+	/**
+	 * Sets the default duration of an animation.
+	 */
+	public static final int DEFAULT_ANIMATION_DURATION = JalousieDelegate.DEFAULT_ANIMATION_DURATION;
+
+	private final JalousieDelegate mDelegate = new JalousieDelegate(this,
+			new JalousieDelegate.LayoutHost() {
+
+				@Override
+				public void superOnMeasure(int widthMeasureSpec,
+						int heightMeasureSpec) {
+					FrameLayoutJalousie.super.onMeasure(widthMeasureSpec,
+							heightMeasureSpec);
+				}
+
+				@Override
+				public void superOnLayout(boolean changed, int left, int top,
+						int right, int bottom) {
+					FrameLayoutJalousie.super.onLayout(changed, left, top, right,
+							bottom);
+				}
+
+				@Override
+				public void superSetMeasuredDimension(int measuredWidth,
+						int measuredHeight) {
+					setMeasuredDimension(measuredWidth, measuredHeight);
+				}
+
+				@Override
+				public void superDispatchDraw(Canvas canvas) {
+					FrameLayoutJalousie.super.dispatchDraw(canvas);
+				}
+
+				@Override
+				public boolean superDrawChild(Canvas canvas, View child,
+						long drawingTime) {
+					return FrameLayoutJalousie.super.drawChild(canvas, child,
+							drawingTime);
+				}
+			});
+
+	public FrameLayoutJalousie(Context context, AttributeSet attrs, int defStyle) {
+
+		super(context, attrs, defStyle);
+
+		mDelegate.init(context, attrs);
+	}
+
+	public FrameLayoutJalousie(Context context, AttributeSet attrs) {
+
+		super(context, attrs);
+
+		mDelegate.init(context, attrs);
+	}
+
+	public FrameLayoutJalousie(Context context) {
+
+		super(context);
+
+		mDelegate.init(context, null);
+	}
+
+	/**
+	 * Gives access to the delegate, which implements the functionality of this
+	 * jalousie.
+	 * 
+	 * @return the delegate of this view
+	 */
+	public JalousieDelegate getJalousieDelegate() {
+		return mDelegate;
+	}
+
+	@Override
+	protected void onFinishInflate() {
+		super.onFinishInflate();
+
+		mDelegate.onFinishInflate();
+	}
+
+	@Override
+	protected void onMeasure(final int widthMeasureSpec,
+			final int heightMeasureSpec) {
+		mDelegate.onMeasure(widthMeasureSpec, heightMeasureSpec);
+	}
+
+	@Override
+	protected void onLayout(boolean changed, int l, int t, int r, int b) {
+		super.onLayout(changed, l, t, r, b);
+
+		mDelegate.onLayout();
+	}
+
+	@Override
+	protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+		super.onSizeChanged(w, h, oldw, oldh);
+
+		mDelegate.onSizeChanged(w, h, oldw, oldh);
+	}
+
+	@Override
+	protected void onAttachedToWindow() {
+		super.onAttachedToWindow();
+
+		mDelegate.onAttachedToWindow();
+	}
+
+	@Override
+	protected void onDetachedFromWindow() {
+		super.onDetachedFromWindow();
+
+		mDelegate.onDetachedFromWindow();
+	}
+
+	@Override
+	protected void dispatchDraw(Canvas canvas) {
+		mDelegate.dispatchDraw(canvas);
+	}
+
+	@Override
+	protected boolean drawChild(Canvas canvas, View child, long drawingTime) {
+		return mDelegate.drawChild(canvas, child, drawingTime);
+	}
+
+	@Override
+	public ViewParent invalidateChildInParent(int[] location, Rect dirty) {
+		if (mDelegate.isInvalidationCulled(location, dirty)) {
+			return null;
+		}
+
+		mDelegate.offsetInvalidation(location);
+
+		return super.invalidateChildInParent(location, dirty);
+	}
+
+	@Override
+	public boolean dispatchTouchEvent(MotionEvent ev) {
+		mDelegate.beforeDispatchTouchEvent(ev);
+		final boolean handled = super.dispatchTouchEvent(ev);
+		mDelegate.afterDispatchTouchEvent(ev);
+
+		return handled;
+	}
+
+	@Override
+	public boolean onInterceptTouchEvent(MotionEvent ev) {
+		return mDelegate.onInterceptTouchEvent(ev)
+				|| super.onInterceptTouchEvent(ev);
+	}
+
+	@Override
+	public boolean onTouchEvent(MotionEvent event) {
+		return mDelegate.onTouchEvent(event) || super.onTouchEvent(event);
+	}
+
+	@Override
+	protected Parcelable onSaveInstanceState() {
+		return mDelegate.onSaveInstanceState(super.onSaveInstanceState());
+	}
+
+	@Override
+	protected void onRestoreInstanceState(Parcelable state) {
+		super.onRestoreInstanceState(mDelegate.onRestoreInstanceState(state));
+	}
+
+	/**
+	 * Call this method, if this view should set its dimension to freshly
+	 * calculated visible content size. This is particularly helpful, if views
+	 * were added or removed before.
+	 */
+	public void forceRelayout() {
+		mDelegate.forceRelayout();
+	}
+
+	@Override
+	public int getContentGravity() {
+		return mDelegate.getContentGravity();
+	}
+
+	@Override
+	public int getCurrentWidth() {
+		return mDelegate.getCurrentWidth();
+	}
+
+	@Override
+	public void setCurrentWidth(int currentWidth) {
+		mDelegate.setCurrentWidth(currentWidth);
+	}
+
+	@Override
+	public int getCurrentHeight() {
+		return mDelegate.getCurrentHeight();
+	}
+
+	@Override
+	public void setCurrentHeight(final int currentHeight) {
+		mDelegate.setCurrentHeight(currentHeight);
+	}
+
+	@Override
+	public boolean expand() {
+		return mDelegate.expand();
+	}
+
+	@Override
+	public boolean expand(boolean animated) {
+		return mDelegate.expand(animated);
+	}
+
+	@Override
+	public boolean collapse() {
+		return mDelegate.collapse();
+	}
+
+	@Override
+	public boolean collapse(boolean animated) {
+		return mDelegate.collapse(animated);
+	}
+
+	@Override
+	public boolean toggle() {
+		return mDelegate.toggle();
+	}
+
+	@Override
+	public boolean toggle(boolean animated) {
+		return mDelegate.toggle(animated);
+	}
+
+	boolean toggle(boolean animated, boolean fromTouch) {
+		return mDelegate.toggle(animated, fromTouch);
+	}
+
+	@Override
+	public boolean isExpanded() {
+		return mDelegate.isExpanded();
+	}
+
+	@Override
+	public boolean isCollapsed() {
+		return mDelegate.isCollapsed();
+	}
+
+	@Override
+	public boolean isExpandable() {
+		return mDelegate.isExpandable();
+	}
+
+	@Override
+	public boolean setExpansionFraction(final float fraction) {
+		return mDelegate.setExpansionFraction(fraction);
+	}
+
+	@Override
+	public float getExpansionFraction() {
+		return mDelegate.getExpansionFraction();
+	}
+
+	@Override
+	public void setIsAlwaysExpanded(final boolean alwaysExpanded) {
+		mDelegate.setIsAlwaysExpanded(alwaysExpanded);
+	}
+
+	@Override
+	public void setIsAlwaysCollapsed(final boolean alwaysCollapsed) {
+		mDelegate.setIsAlwaysCollapsed(alwaysCollapsed);
+	}
+
+	@Override
+	public void setAnimationEnabled(final boolean animationEnabled) {
+		mDelegate.setAnimationEnabled(animationEnabled);
+	}
+
+	@Override
+	public void setAnimationDuration(final int animationDuration) {
+		mDelegate.setAnimationDuration(animationDuration);
+	}
+
+	@Override
+	public void setInterpolator(final Interpolator interpolator) {
+		mDelegate.setInterpolator(interpolator);
+	}
+
+	/**
+	 * @see JalousieDelegate#setScrollWithExpansion(boolean)
+	 */
+	public void setScrollWithExpansion(final boolean scrollWithExpansion) {
+		mDelegate.setScrollWithExpansion(scrollWithExpansion);
+	}
+
+	public boolean isScrollWithExpansion() {
+		return mDelegate.isScrollWithExpansion();
+	}
+
+	/**
+	 * @see JalousieDelegate#setScrollLinked(boolean)
+	 */
+	public void setScrollLinked(final boolean scrollLinked) {
+		mDelegate.setScrollLinked(scrollLinked);
+	}
+
+	public boolean isScrollLinked() {
+		return mDelegate.isScrollLinked();
+	}
+
+	/**
+	 * @see JalousieDelegate#consumeScrollDelta(int)
+	 */
+	public int consumeScrollDelta(final int delta) {
+		return mDelegate.consumeScrollDelta(delta);
+	}
+
+	/**
+	 * @see JalousieDelegate#onScrollStopped()
+	 */
+	public void onScrollStopped() {
+		mDelegate.onScrollStopped();
+	}
+
+	/**
+	 * @see JalousieDelegate#setAdaptiveQuality(boolean)
+	 */
+	public void setAdaptiveQuality(final boolean adaptiveQuality) {
+		mDelegate.setAdaptiveQuality(adaptiveQuality);
+	}
+
+	public boolean isAdaptiveQuality() {
+		return mDelegate.isAdaptiveQuality();
+	}
+
+	/**
+	 * @see JalousieDelegate#setSnapshotAnimation(boolean)
+	 */
+	public void setSnapshotAnimation(final boolean snapshotAnimation) {
+		mDelegate.setSnapshotAnimation(snapshotAnimation);
+	}
+
+	public boolean isSnapshotAnimation() {
+		return mDelegate.isSnapshotAnimation();
+	}
+
+	/**
+	 * @see JalousieDelegate#setSpringAnimation(boolean)
+	 */
+	public void setSpringAnimation(final boolean springAnimation) {
+		mDelegate.setSpringAnimation(springAnimation);
+	}
+
+	public boolean isSpringAnimation() {
+		return mDelegate.isSpringAnimation();
+	}
+
+	/**
+	 * @see JalousieDelegate#setSpringConfiguration(float, float)
+	 */
+	public void setSpringConfiguration(final float stiffness,
+			final float dampingRatio) {
+		mDelegate.setSpringConfiguration(stiffness, dampingRatio);
+	}
+
+	/**
+	 * @see JalousieDelegate#setCollapsedSize(int)
+	 */
+	public void setCollapsedSize(final int collapsedSize) {
+		mDelegate.setCollapsedSize(collapsedSize);
+	}
+
+	public int getCollapsedSize() {
+		return mDelegate.getCollapsedSize();
+	}
+
+	/**
+	 * @see JalousieDelegate#setExpandedSize(int)
+	 */
+	public void setExpandedSize(final int expandedSize) {
+		mDelegate.setExpandedSize(expandedSize);
+	}
+
+	public int getExpandedSize() {
+		return mDelegate.getExpandedSize();
+	}
+
+	/**
+	 * @see JalousieDelegate#setMaxExpandedSize(int)
+	 */
+	public void setMaxExpandedSize(final int maxExpandedSize) {
+		mDelegate.setMaxExpandedSize(maxExpandedSize);
+	}
+
+	public int getMaxExpandedSize() {
+		return mDelegate.getMaxExpandedSize();
+	}
+
+	/**
+	 * @see JalousieDelegate#setCollapsedChildCount(int)
+	 */
+	public void setCollapsedChildCount(final int collapsedChildCount) {
+		mDelegate.setCollapsedChildCount(collapsedChildCount);
+	}
+
+	public int getCollapsedChildCount() {
+		return mDelegate.getCollapsedChildCount();
+	}
+
+	/**
+	 * @see JalousieDelegate#setContentLoader(JalousieContentLoader)
+	 */
+	public void setContentLoader(final JalousieContentLoader contentLoader) {
+		mDelegate.setContentLoader(contentLoader);
+	}
+
+	/**
+	 * @see JalousieDelegate#invalidateContent()
+	 */
+	public void invalidateContent() {
+		mDelegate.invalidateContent();
+	}
+
+	/**
+	 * @see JalousieDelegate#prefetch()
+	 */
+	public void prefetch() {
+		mDelegate.prefetch();
+	}
+
+	/**
+	 * @see JalousieDelegate#setPrefetchDistance(int)
+	 */
+	public void setPrefetchDistance(final int prefetchDistance) {
+		mDelegate.setPrefetchDistance(prefetchDistance);
+	}
+
+	/**
+	 * @see JalousieDelegate#setExpansionPlaceholderSize(int)
+	 */
+	public void setExpansionPlaceholderSize(final int placeholderSize) {
+		mDelegate.setExpansionPlaceholderSize(placeholderSize);
+	}
+
+	/**
+	 * @see JalousieDelegate#scrollHiddenSectionTo(int)
+	 */
+	public void scrollHiddenSectionTo(final int position) {
+		mDelegate.scrollHiddenSectionTo(position);
+	}
+
+	/**
+	 * @see JalousieDelegate#invalidateSnapshot()
+	 */
+	public void invalidateSnapshot() {
+		mDelegate.invalidateSnapshot();
+	}
+
+	/**
+	 * @see JalousieDelegate#setJalousieSpec(JalousieSpec)
+	 */
+	public void setJalousieSpec(final JalousieSpec spec) {
+		mDelegate.setJalousieSpec(spec);
+	}
+
+	public JalousieSpec getJalousieSpec() {
+		return mDelegate.getJalousieSpec();
+	}
+
+	@Override
+	public void addJalousieListener(final JalousieListener listener) {
+		mDelegate.addJalousieListener(listener);
+	}
+
+	@Override
+	public boolean removeJalousieListener(final JalousieListener listener) {
+		return mDelegate.removeJalousieListener(listener);
+	}
+
+}
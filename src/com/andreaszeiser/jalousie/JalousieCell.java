@@ -0,0 +1,890 @@
+/*
+ * Copyright (C) 2012 Andreas Zeiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andreaszeiser.jalousie;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.os.Build;
+import android.os.Parcelable;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+import android.view.accessibility.AccessibilityEvent;
+import android.view.accessibility.AccessibilityNodeInfo;
+import android.view.animation.Interpolator;
+
+import com.andreaszeiser.jalousie.indicator.IndicatorDrawable;
+import com.andreaszeiser.jalousie.util.Log;
+
+/**
+ * A flat jalousie for list rows. Instead of nesting an indicated jalousie, an
+ * indicator layout, an image, a text and a LinearLayoutJalousie, this single
+ * view draws the header text and the indicator itself and lays out its
+ * children, the hidden content, directly below the header.
+ * 
+ * A tap on the header toggles the cell. The indicator, an
+ * {@link IndicatorDrawable}, morphs along with the expansion.
+ * 
+ * The children are stacked vertically. This view only supports vertical
+ * content gravity.
+ * 
+ * @author Andreas Zeiser
+ * 
+ */
+public class JalousieCell extends ViewGroup implements Jalousie {
+
+	private static final String TAG = JalousieCell.class.getSimpleName();
+
+	/**
+	 * Default minimum height of the header in dp.
+	 */
+	private static final int DEFAULT_HEADER_HEIGHT = 48;
+
+	/**
+	 * Default text size of the title in sp.
+	 */
+	private static final int DEFAULT_TITLE_TEXT_SIZE = 16;
+
+	/**
+	 * Default color of title and indicator.
+	 */
+	private static final int DEFAULT_COLOR = 0xff333333;
+
+	/**
+	 * Color, which is drawn over the header, while it is pressed or focused.
+	 */
+	private static final int HEADER_HIGHLIGHT_COLOR = 0x1f000000;
+
+	private final JalousieDelegate mDelegate = new JalousieDelegate(this,
+			new JalousieDelegate.Host() {
+
+				@Override
+				public void superOnMeasure(int widthMeasureSpec,
+						int heightMeasureSpec) {
+					measureCell(widthMeasureSpec, heightMeasureSpec);
+				}
+
+				@Override
+				public void superSetMeasuredDimension(int measuredWidth,
+						int measuredHeight) {
+					setMeasuredDimension(measuredWidth, measuredHeight);
+				}
+
+				@Override
+				public void superDispatchDraw(Canvas canvas) {
+					JalousieCell.super.dispatchDraw(canvas);
+				}
+
+				@Override
+				public boolean superDrawChild(Canvas canvas, View child,
+						long drawingTime) {
+					return JalousieCell.super.drawChild(canvas, child,
+							drawingTime);
+				}
+			});
+
+	/**
+	 * Paint of the title.
+	 */
+	private final TextPaint mTitlePaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+
+	/**
+	 * Paint of the pressed and focused state of the header.
+	 */
+	private final Paint mHeaderHighlightPaint = new Paint();
+
+	/**
+	 * Announces the new state to accessibility services, when an action
+	 * ends.
+	 */
+	private final JalousieListener mAccessibilityListener = new JalousieListener() {
+
+		@Override
+		public boolean onBeforeActionStart(final int action,
+				final boolean fromTouch) {
+			return false;
+		}
+
+		@Override
+		public void onActionStart(final int action, final int animationDuration) {
+		}
+
+		@Override
+		public void onActionEnd(final int action) {
+			if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+				announceForAccessibility(getStateDescription());
+			} else {
+				// the event is populated with the title and the new state
+				sendAccessibilityEvent(AccessibilityEvent.TYPE_VIEW_CLICKED);
+			}
+		}
+	};
+
+	/**
+	 * The indicator, which is drawn at the end of the header.
+	 */
+	private IndicatorDrawable mIndicator;
+
+	/**
+	 * The title, which is drawn within the header.
+	 */
+	private CharSequence mTitle = "";
+
+	/**
+	 * The title, ellipsized to the available width.
+	 */
+	private CharSequence mDisplayTitle = "";
+
+	/**
+	 * The width, for which {@link #mDisplayTitle} was ellipsized. Is -1, if
+	 * the title has to be ellipsized again.
+	 */
+	private int mDisplayTitleWidth = -1;
+
+	/**
+	 * Minimum height of the header in pixels.
+	 */
+	private int mHeaderMinHeight;
+
+	/**
+	 * Height of the header in pixels, calculated during measure.
+	 */
+	private int mHeaderHeight;
+
+	/**
+	 * Height of this view in expanded state, calculated during measure.
+	 */
+	private int mExpandedHeight;
+
+	/**
+	 * True, while a touch, which started within the header, is ongoing.
+	 */
+	private boolean mHeaderPressed = false;
+
+	public JalousieCell(Context context, AttributeSet attrs, int defStyle) {
+		super(context, attrs, defStyle);
+
+		init(context, attrs);
+	}
+
+	public JalousieCell(Context context, AttributeSet attrs) {
+		super(context, attrs);
+
+		init(context, attrs);
+	}
+
+	public JalousieCell(Context context) {
+		super(context);
+
+		init(context, null);
+	}
+
+	/**
+	 * Should only be called from constructor.
+	 */
+	private void init(final Context context, final AttributeSet attrs) {
+		mDelegate.init(context, attrs);
+
+		final float density = getResources().getDisplayMetrics().density;
+
+		float titleTextSize = TypedValue.applyDimension(
+				TypedValue.COMPLEX_UNIT_SP, DEFAULT_TITLE_TEXT_SIZE,
+				getResources().getDisplayMetrics());
+		int titleTextColor = DEFAULT_COLOR;
+		int indicatorColor = IndicatorDrawable.DEFAULT_COLOR;
+		mHeaderMinHeight = (int) (DEFAULT_HEADER_HEIGHT * density + 0.5f);
+
+		if (attrs != null) {
+			TypedArray a = context.getTheme().obtainStyledAttributes(attrs,
+					R.styleable.JalousieCell, 0, 0);
+
+			try {
+				final CharSequence title = a
+						.getText(R.styleable.JalousieCell_cellTitle);
+				if (title != null) {
+					mTitle = title;
+				}
+
+				titleTextSize = a.getDimension(
+						R.styleable.JalousieCell_cellTitleTextSize,
+						titleTextSize);
+				titleTextColor = a.getColor(
+						R.styleable.JalousieCell_cellTitleTextColor,
+						titleTextColor);
+				indicatorColor = a.getColor(
+						R.styleable.JalousieCell_cellIndicatorColor,
+						indicatorColor);
+				mHeaderMinHeight = a.getDimensionPixelSize(
+						R.styleable.JalousieCell_cellHeaderHeight,
+						mHeaderMinHeight);
+			} finally {
+				a.recycle();
+			}
+		}
+
+		mTitlePaint.setTextSize(titleTextSize);
+		mTitlePaint.setColor(titleTextColor);
+
+		mIndicator = new IndicatorDrawable(getResources());
+		mIndicator.setColor(indicatorColor);
+
+		mHeaderHighlightPaint.setColor(HEADER_HIGHLIGHT_COLOR);
+
+		// the header is drawn by this view itself
+		setWillNotDraw(false);
+
+		// the header can be clicked and focused like a button, so that it is
+		// reachable by keyboard and accessibility services, too
+		setClickable(true);
+		setFocusable(true);
+
+		mDelegate.addJalousieListener(mAccessibilityListener);
+	}
+
+	/**
+	 * Gives access to the delegate, which implements the functionality of this
+	 * jalousie.
+	 * 
+	 * @return the delegate of this view
+	 */
+	public JalousieDelegate getJalousieDelegate() {
+		return mDelegate;
+	}
+
+	/**
+	 * Sets the title, which is drawn within the header.
+	 * 
+	 * @param title
+	 */
+	public void setTitle(final CharSequence title) {
+		mTitle = (title == null) ? "" : title;
+		mDisplayTitleWidth = -1;
+
+		requestLayout();
+		invalidate();
+	}
+
+	public CharSequence getTitle() {
+		return mTitle;
+	}
+
+	public void setTitleTextColor(final int color) {
+		mTitlePaint.setColor(color);
+
+		invalidate();
+	}
+
+	public void setIndicatorColor(final int color) {
+		mIndicator.setColor(color);
+
+		invalidate();
+	}
+
+	/**
+	 * Measures the header and all children in expanded state. The children
+	 * are measured with unspecified height.
+	 */
+	private void measureCell(final int widthMeasureSpec,
+			final int heightMeasureSpec) {
+		final Paint.FontMetricsInt fontMetrics = mTitlePaint
+				.getFontMetricsInt();
+		final int textHeight = fontMetrics.descent - fontMetrics.ascent;
+		mHeaderHeight = Math.max(mHeaderMinHeight, textHeight);
+
+		final int unspecified = MeasureSpec.makeMeasureSpec(0,
+				MeasureSpec.UNSPECIFIED);
+		int contentWidth = 0;
+		int contentHeight = 0;
+
+		final int childCount = getChildCount();
+		View child;
+		for (int i = 0; i < childCount; i++) {
+			child = getChildAt(i);
+
+			if (child.getVisibility() == View.GONE) {
+				continue;
+			}
+
+			measureChild(child, widthMeasureSpec, unspecified);
+
+			contentWidth = Math.max(contentWidth, child.getMeasuredWidth());
+			contentHeight += child.getMeasuredHeight();
+		}
+
+		final int headerWidth = (int) mTitlePaint.measureText(mTitle, 0,
+				mTitle.length()) + mHeaderHeight;
+
+		final int width = resolveSize(Math.max(contentWidth, headerWidth)
+				+ getPaddingLeft() + getPaddingRight(), widthMeasureSpec);
+		mExpandedHeight = getPaddingTop() + mHeaderHeight + contentHeight
+				+ getPaddingBottom();
+
+		// the title is ellipsized only if the available width changed
+		final int titleWidth = width - getPaddingLeft() - getPaddingRight()
+				- mHeaderHeight;
+		if (titleWidth != mDisplayTitleWidth) {
+			mDisplayTitleWidth = titleWidth;
+			mDisplayTitle = TextUtils.ellipsize(mTitle, mTitlePaint,
+					Math.max(titleWidth, 0), TextUtils.TruncateAt.END);
+		}
+
+		// collapsed, only the header is visible
+		mDelegate.setCollapsedSize(getPaddingTop() + mHeaderHeight);
+
+		setMeasuredDimension(width, mExpandedHeight);
+	}
+
+	@Override
+	protected void onMeasure(final int widthMeasureSpec,
+			final int heightMeasureSpec) {
+		mDelegate.onMeasure(widthMeasureSpec, heightMeasureSpec);
+	}
+
+	@Override
+	protected void onLayout(boolean changed, int l, int t, int r, int b) {
+		final int left = getPaddingLeft();
+		int top = getPaddingTop() + mHeaderHeight;
+
+		final int childCount = getChildCount();
+		View child;
+		for (int i = 0; i < childCount; i++) {
+			child = getChildAt(i);
+
+			if (child.getVisibility() == View.GONE) {
+				continue;
+			}
+
+			child.layout(left, top, left + child.getMeasuredWidth(), top
+					+ child.getMeasuredHeight());
+			top += child.getMeasuredHeight();
+		}
+
+		mDelegate.onLayout();
+	}
+
+	@Override
+	protected void onDraw(Canvas canvas) {
+		super.onDraw(canvas);
+
+		final int headerTop = getPaddingTop();
+		final Paint.FontMetricsInt fontMetrics = mTitlePaint
+				.getFontMetricsInt();
+		final int textHeight = fontMetrics.descent - fontMetrics.ascent;
+
+		if (isPressed() || isFocused()) {
+			canvas.drawRect(0, headerTop, getWidth(),
+					headerTop + mHeaderHeight, mHeaderHighlightPaint);
+		}
+
+		canvas.drawText(mDisplayTitle, 0, mDisplayTitle.length(),
+				getPaddingLeft(), headerTop + (mHeaderHeight - textHeight) / 2
+						- fontMetrics.ascent, mTitlePaint);
+
+		// morph the indicator from pointing down (collapsed) to pointing up
+		// (expanded) along with the current height, relative to the expanded
+		// size, which may be capped by the maximum expanded size
+		mIndicator.setFraction(mDelegate.getExpansionFraction());
+
+		// the indicator is centered within a square at the end of the header
+		final int size = mIndicator.getIntrinsicWidth();
+		final int left = getWidth() - getPaddingRight() - (mHeaderHeight + size)
+				/ 2;
+		final int top = headerTop + (mHeaderHeight - size) / 2;
+		mIndicator.setBounds(left, top, left + size, top + size);
+		mIndicator.draw(canvas);
+	}
+
+	@Override
+	public boolean onTouchEvent(MotionEvent event) {
+		if (mDelegate.onTouchEvent(event)) {
+			return true;
+		}
+
+		final boolean inHeader = event.getY() < getPaddingTop()
+				+ mHeaderHeight;
+
+		switch (event.getAction()) {
+		case MotionEvent.ACTION_DOWN:
+			if (inHeader) {
+				mHeaderPressed = true;
+				setPressed(true);
+
+				// a tap will probably follow, so let the content loader start
+				// early
+				mDelegate.prefetch();
+				return true;
+			}
+			break;
+
+		case MotionEvent.ACTION_UP:
+			if (mHeaderPressed) {
+				mHeaderPressed = false;
+				setPressed(false);
+
+				if (inHeader) {
+					Log.v(TAG, "[onTouchEvent] header tapped");
+
+					performClick();
+				}
+				return true;
+			}
+			break;
+
+		case MotionEvent.ACTION_CANCEL:
+			mHeaderPressed = false;
+			setPressed(false);
+			break;
+
+		default:
+			break;
+		}
+
+		// the super implementation is not called, because this view is
+		// clickable, but only the header should react on touch
+		return mHeaderPressed;
+	}
+
+	/**
+	 * Toggles this cell. Is called on a tap on the header, by the keyboard or
+	 * by accessibility services.
+	 */
+	@Override
+	public boolean performClick() {
+		super.performClick();
+
+		mDelegate.toggle(true, true);
+
+		return true;
+	}
+
+	@Override
+	protected void drawableStateChanged() {
+		super.drawableStateChanged();
+
+		// the pressed and focused state is drawn over the header
+		invalidate();
+	}
+
+	@Override
+	protected void dispatchSetPressed(boolean pressed) {
+		// only the header is pressed, not the hidden content
+	}
+
+	@Override
+	public boolean dispatchPopulateAccessibilityEvent(AccessibilityEvent event) {
+		if (Build.VERSION.SDK_INT < Build.VERSION_CODES.ICE_CREAM_SANDWICH) {
+			// onPopulateAccessibilityEvent() is not called before API level 14
+			populateAccessibilityEvent(event);
+		}
+
+		return super.dispatchPopulateAccessibilityEvent(event);
+	}
+
+	@Override
+	public void onPopulateAccessibilityEvent(AccessibilityEvent event) {
+		super.onPopulateAccessibilityEvent(event);
+
+		populateAccessibilityEvent(event);
+	}
+
+	@Override
+	public void onInitializeAccessibilityNodeInfo(AccessibilityNodeInfo info) {
+		super.onInitializeAccessibilityNodeInfo(info);
+
+		info.setText(getResources().getString(R.string.evg__cell_description,
+				mTitle, getStateDescription()));
+	}
+
+	/**
+	 * Adds the title and the state of this cell to the given event.
+	 */
+	private void populateAccessibilityEvent(final AccessibilityEvent event) {
+		event.getText().add(mTitle);
+		event.getText().add(getStateDescription());
+	}
+
+	private String getStateDescription() {
+		return getResources().getString(
+				mDelegate.isExpanded() ? R.string.evg__state_expanded
+						: R.string.evg__state_collapsed);
+	}
+
+	@Override
+	protected void onFinishInflate() {
+		super.onFinishInflate();
+
+		mDelegate.onFinishInflate();
+	}
+
+	@Override
+	protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+		super.onSizeChanged(w, h, oldw, oldh);
+
+		mDelegate.onSizeChanged(w, h, oldw, oldh);
+	}
+
+	@Override
+	protected void onAttachedToWindow() {
+		super.onAttachedToWindow();
+
+		mDelegate.onAttachedToWindow();
+	}
+
+	@Override
+	protected void onDetachedFromWindow() {
+		super.onDetachedFromWindow();
+
+		mDelegate.onDetachedFromWindow();
+	}
+
+	@Override
+	protected void dispatchDraw(Canvas canvas) {
+		mDelegate.dispatchDraw(canvas);
+	}
+
+	@Override
+	protected boolean drawChild(Canvas canvas, View child, long drawingTime) {
+		return mDelegate.drawChild(canvas, child, drawingTime);
+	}
+
+	@Override
+	public ViewParent invalidateChildInParent(int[] location, Rect dirty) {
+		if (mDelegate.isInvalidationCulled(location, dirty)) {
+			return null;
+		}
+
+		mDelegate.offsetInvalidation(location);
+
+		return super.invalidateChildInParent(location, dirty);
+	}
+
+	@Override
+	public boolean dispatchTouchEvent(MotionEvent ev) {
+		mDelegate.beforeDispatchTouchEvent(ev);
+		final boolean handled = super.dispatchTouchEvent(ev);
+		mDelegate.afterDispatchTouchEvent(ev);
+
+		return handled;
+	}
+
+	@Override
+	public boolean onInterceptTouchEvent(MotionEvent ev) {
+		return mDelegate.onInterceptTouchEvent(ev)
+				|| super.onInterceptTouchEvent(ev);
+	}
+
+	@Override
+	protected Parcelable onSaveInstanceState() {
+		return mDelegate.onSaveInstanceState(super.onSaveInstanceState());
+	}
+
+	@Override
+	protected void onRestoreInstanceState(Parcelable state) {
+		super.onRestoreInstanceState(mDelegate.onRestoreInstanceState(state));
+	}
+
+	public void forceRelayout() {
+		mDelegate.forceRelayout();
+	}
+
+	@Override
+	public int getContentGravity() {
+		return mDelegate.getContentGravity();
+	}
+
+	@Override
+	public int getCurrentWidth() {
+		return mDelegate.getCurrentWidth();
+	}
+
+	@Override
+	public void setCurrentWidth(int currentWidth) {
+		mDelegate.setCurrentWidth(currentWidth);
+	}
+
+	@Override
+	public int getCurrentHeight() {
+		return mDelegate.getCurrentHeight();
+	}
+
+	@Override
+	public void setCurrentHeight(final int currentHeight) {
+		mDelegate.setCurrentHeight(currentHeight);
+	}
+
+	@Override
+	public boolean expand() {
+		return mDelegate.expand();
+	}
+
+	@Override
+	public boolean expand(boolean animated) {
+		return mDelegate.expand(animated);
+	}
+
+	@Override
+	public boolean collapse() {
+		return mDelegate.collapse();
+	}
+
+	@Override
+	public boolean collapse(boolean animated) {
+		return mDelegate.collapse(animated);
+	}
+
+	@Override
+	public boolean toggle() {
+		return mDelegate.toggle();
+	}
+
+	@Override
+	public boolean toggle(boolean animated) {
+		return mDelegate.toggle(animated);
+	}
+
+	boolean toggle(boolean animated, boolean fromTouch) {
+		return mDelegate.toggle(animated, fromTouch);
+	}
+
+	@Override
+	public boolean isExpanded() {
+		return mDelegate.isExpanded();
+	}
+
+	@Override
+	public boolean isCollapsed() {
+		return mDelegate.isCollapsed();
+	}
+
+	@Override
+	public boolean isExpandable() {
+		return mDelegate.isExpandable();
+	}
+
+	@Override
+	public boolean setExpansionFraction(final float fraction) {
+		return mDelegate.setExpansionFraction(fraction);
+	}
+
+	@Override
+	public float getExpansionFraction() {
+		return mDelegate.getExpansionFraction();
+	}
+
+	@Override
+	public void setIsAlwaysExpanded(final boolean alwaysExpanded) {
+		mDelegate.setIsAlwaysExpanded(alwaysExpanded);
+	}
+
+	@Override
+	public void setIsAlwaysCollapsed(final boolean alwaysCollapsed) {
+		mDelegate.setIsAlwaysCollapsed(alwaysCollapsed);
+	}
+
+	@Override
+	public void setAnimationEnabled(final boolean animationEnabled) {
+		mDelegate.setAnimationEnabled(animationEnabled);
+	}
+
+	@Override
+	public void setAnimationDuration(final int animationDuration) {
+		mDelegate.setAnimationDuration(animationDuration);
+	}
+
+	@Override
+	public void setInterpolator(final Interpolator interpolator) {
+		mDelegate.setInterpolator(interpolator);
+	}
+
+	/**
+	 * @see JalousieDelegate#setScrollWithExpansion(boolean)
+	 */
+	public void setScrollWithExpansion(final boolean scrollWithExpansion) {
+		mDelegate.setScrollWithExpansion(scrollWithExpansion);
+	}
+
+	public boolean isScrollWithExpansion() {
+		return mDelegate.isScrollWithExpansion();
+	}
+
+	/**
+	 * @see JalousieDelegate#setScrollLinked(boolean)
+	 */
+	public void setScrollLinked(final boolean scrollLinked) {
+		mDelegate.setScrollLinked(scrollLinked);
+	}
+
+	public boolean isScrollLinked() {
+		return mDelegate.isScrollLinked();
+	}
+
+	/**
+	 * @see JalousieDelegate#consumeScrollDelta(int)
+	 */
+	public int consumeScrollDelta(final int delta) {
+		return mDelegate.consumeScrollDelta(delta);
+	}
+
+	/**
+	 * @see JalousieDelegate#onScrollStopped()
+	 */
+	public void onScrollStopped() {
+		mDelegate.onScrollStopped();
+	}
+
+	/**
+	 * @see JalousieDelegate#setAdaptiveQuality(boolean)
+	 */
+	public void setAdaptiveQuality(final boolean adaptiveQuality) {
+		mDelegate.setAdaptiveQuality(adaptiveQuality);
+	}
+
+	public boolean isAdaptiveQuality() {
+		return mDelegate.isAdaptiveQuality();
+	}
+
+	/**
+	 * @see JalousieDelegate#setSnapshotAnimation(boolean)
+	 */
+	public void setSnapshotAnimation(final boolean snapshotAnimation) {
+		mDelegate.setSnapshotAnimation(snapshotAnimation);
+	}
+
+	public boolean isSnapshotAnimation() {
+		return mDelegate.isSnapshotAnimation();
+	}
+
+	/**
+	 * @see JalousieDelegate#setSpringAnimation(boolean)
+	 */
+	public void setSpringAnimation(final boolean springAnimation) {
+		mDelegate.setSpringAnimation(springAnimation);
+	}
+
+	public boolean isSpringAnimation() {
+		return mDelegate.isSpringAnimation();
+	}
+
+	/**
+	 * @see JalousieDelegate#setSpringConfiguration(float, float)
+	 */
+	public void setSpringConfiguration(final float stiffness,
+			final float dampingRatio) {
+		mDelegate.setSpringConfiguration(stiffness, dampingRatio);
+	}
+
+	/**
+	 * @see JalousieDelegate#setMaxExpandedSize(int)
+	 */
+	public void setMaxExpandedSize(final int maxExpandedSize) {
+		mDelegate.setMaxExpandedSize(maxExpandedSize);
+	}
+
+	public int getMaxExpandedSize() {
+		return mDelegate.getMaxExpandedSize();
+	}
+
+	/**
+	 * @see JalousieDelegate#setCollapsedChildCount(int)
+	 */
+	public void setCollapsedChildCount(final int collapsedChildCount) {
+		mDelegate.setCollapsedChildCount(collapsedChildCount);
+	}
+
+	public int getCollapsedChildCount() {
+		return mDelegate.getCollapsedChildCount();
+	}
+
+	/**
+	 * @see JalousieDelegate#setContentLoader(JalousieContentLoader)
+	 */
+	public void setContentLoader(final JalousieContentLoader contentLoader) {
+		mDelegate.setContentLoader(contentLoader);
+	}
+
+	/**
+	 * @see JalousieDelegate#invalidateContent()
+	 */
+	public void invalidateContent() {
+		mDelegate.invalidateContent();
+	}
+
+	/**
+	 * @see JalousieDelegate#prefetch()
+	 */
+	public void prefetch() {
+		mDelegate.prefetch();
+	}
+
+	/**
+	 * @see JalousieDelegate#setPrefetchDistance(int)
+	 */
+	public void setPrefetchDistance(final int prefetchDistance) {
+		mDelegate.setPrefetchDistance(prefetchDistance);
+	}
+
+	/**
+	 * @see JalousieDelegate#setExpansionPlaceholderSize(int)
+	 */
+	public void setExpansionPlaceholderSize(final int placeholderSize) {
+		mDelegate.setExpansionPlaceholderSize(placeholderSize);
+	}
+
+	/**
+	 * @see JalousieDelegate#scrollHiddenSectionTo(int)
+	 */
+	public void scrollHiddenSectionTo(final int position) {
+		mDelegate.scrollHiddenSectionTo(position);
+	}
+
+	/**
+	 * @see JalousieDelegate#invalidateSnapshot()
+	 */
+	public void invalidateSnapshot() {
+		mDelegate.invalidateSnapshot();
+	}
+
+	/**
+	 * @see JalousieDelegate#setJalousieSpec(JalousieSpec)
+	 */
+	public void setJalousieSpec(final JalousieSpec spec) {
+		mDelegate.setJalousieSpec(spec);
+	}
+
+	public JalousieSpec getJalousieSpec() {
+		return mDelegate.getJalousieSpec();
+	}
+
+	@Override
+	public void addJalousieListener(final JalousieListener listener) {
+		mDelegate.addJalousieListener(listener);
+	}
+
+	@Override
+	public boolean removeJalousieListener(final JalousieListener listener) {
+		return mDelegate.removeJalousieListener(listener);
+	}
+
+}
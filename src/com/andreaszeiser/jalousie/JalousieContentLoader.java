@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2012 Andreas Zeiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andreaszeiser.jalousie;
+
+/**
+ * Loads the hidden content of a jalousie on demand, e.g. from a database,
+ * without blocking the main thread. Is set through
+ * {@link JalousieDelegate#setContentLoader(JalousieContentLoader)}.
+ * 
+ * An expand, which is requested before the content is loaded, is deferred
+ * until {@link Callback#onContentLoaded()} is called, so that the animation
+ * starts with the real content.
+ * 
+ * @author Andreas Zeiser
+ * 
+ */
+public interface JalousieContentLoader {
+
+	/**
+	 * Is passed to {@link JalousieContentLoader#onLoadContent(Jalousie,
+	 * Callback)}.
+	 */
+	public interface Callback {
+
+		/**
+		 * Has to be called on the main thread, after the hidden content was
+		 * added to the jalousie. May also be called right away from within
+		 * {@link JalousieContentLoader#onLoadContent(Jalousie, Callback)}.
+		 */
+		public void onContentLoaded();
+	}
+
+	/**
+	 * This callback will be invoked, if the content will probably be needed
+	 * soon, i.e. on touch down on the indicator or if the jalousie comes
+	 * close to the visible area while the main thread is idle. It is a hint
+	 * to start loading the data in the background, the views do not have to
+	 * be filled yet.
+	 * 
+	 * @param jalousie
+	 *            the jalousie, whose content will be needed
+	 */
+	public void onPrefetch(final Jalousie jalousie);
+
+	/**
+	 * This callback will be invoked with the first expand, which finds the
+	 * content not loaded. The loader has to add the hidden content to the
+	 * jalousie and to notify the given callback afterwards.
+	 * 
+	 * @param jalousie
+	 *            the jalousie, whose content has to be loaded
+	 * @param callback
+	 *            has to be notified on the main thread, when the content is
+	 *            added
+	 */
+	public void onLoadContent(final Jalousie jalousie, final Callback callback);
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2012 Andreas Zeiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andreaszeiser.jalousie;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+
+/**
+ * Debug overlay, which is drawn on top of each jalousie. It shows the number
+ * of measure passes and the average time per frame spent by the jalousie
+ * since its last action started, followed by its current state. This helps
+ * to spot jalousies, which lay out too often or too slowly.
+ * 
+ * The overlay is toggled at runtime through {@link #setEnabled(boolean)}.
+ * All calls are guarded by the constant <code>BuildConfig.DEBUG</code>, so
+ * the overlay is compiled out of release builds.
+ * 
+ * @author Andreas Zeiser
+ * 
+ */
+public final class JalousieDebugOverlay {
+
+	private static final int BACKGROUND_COLOR = 0xB0000000;
+
+	private static final float TEXT_SIZE = 12; // dp
+
+	private static final float PADDING = 4; // dp
+
+	private static boolean sEnabled = false;
+
+	/**
+	 * Paints of all overlays, which are created with the first overlay.
+	 */
+	private static Paint sTextPaint;
+
+	private static Paint sBackgroundPaint;
+
+	/**
+	 * Number of measure passes since the last action started.
+	 */
+	private int mMeasureCount;
+
+	/**
+	 * Number of animation frames since the last action started.
+	 */
+	private int mFrameCount;
+
+	/**
+	 * Time in ns spent in measuring, drawing and animation frames since the
+	 * last action started.
+	 */
+	private long mWorkTime;
+
+	/**
+	 * Shows or hides the overlay on all jalousies. Jalousies, which are on
+	 * screen already, show the change with their next redraw. Has no effect
+	 * in release builds.
+	 * 
+	 * @param enabled
+	 */
+	public static void setEnabled(final boolean enabled) {
+		sEnabled = BuildConfig.DEBUG && enabled;
+	}
+
+	public static boolean isEnabled() {
+		return BuildConfig.DEBUG && sEnabled;
+	}
+
+	/**
+	 * Resets all counters, has to be called, when an action starts.
+	 */
+	void onActionStart() {
+		mMeasureCount = 0;
+		mFrameCount = 0;
+		mWorkTime = 0;
+	}
+
+	/**
+	 * @param duration
+	 *            duration of the measure pass in ns
+	 */
+	void onMeasure(final long duration) {
+		mMeasureCount++;
+		mWorkTime += duration;
+	}
+
+	/**
+	 * @param duration
+	 *            duration of drawing in ns
+	 */
+	void onDraw(final long duration) {
+		mWorkTime += duration;
+	}
+
+	/**
+	 * @param duration
+	 *            duration of the animation step in ns
+	 */
+	void onFrame(final long duration) {
+		mFrameCount++;
+		mWorkTime += duration;
+	}
+
+	/**
+	 * Draws the overlay into the top left corner of the jalousie.
+	 * 
+	 * @param canvas
+	 * @param density
+	 *            display density of the jalousie
+	 * @param state
+	 *            the state of the jalousie
+	 */
+	void draw(final Canvas canvas, final float density, final String state) {
+		if (sTextPaint == null) {
+			sTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+			sTextPaint.setColor(Color.WHITE);
+
+			sBackgroundPaint = new Paint();
+			sBackgroundPaint.setColor(BACKGROUND_COLOR);
+		}
+		sTextPaint.setTextSize(TEXT_SIZE * density);
+
+		final String frameTime = (mFrameCount == 0) ? "-" : String.format(
+				"%.2f", mWorkTime / (mFrameCount * 1000000f));
+		final String text = "measure " + mMeasureCount + " | " + frameTime
+				+ " ms/frame | " + state;
+
+		final float padding = PADDING * density;
+		final Paint.FontMetrics metrics = sTextPaint.getFontMetrics();
+
+		canvas.drawRect(0, 0, sTextPaint.measureText(text) + 2 * padding,
+				metrics.descent - metrics.ascent + 2 * padding,
+				sBackgroundPaint);
+		canvas.drawText(text, padding, padding - metrics.ascent, sTextPaint);
+	}
+
+}
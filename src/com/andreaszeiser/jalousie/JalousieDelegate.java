@@ -0,0 +1,4157 @@
+/*
+ * Copyright (C) 2012 Andreas Zeiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andreaszeiser.jalousie;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.os.Bundle;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.os.Parcelable;
+import android.util.AttributeSet;
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
+import android.view.View;
+import android.view.View.MeasureSpec;
+import android.view.ViewConfiguration;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+import android.view.ViewTreeObserver;
+import android.view.animation.Interpolator;
+import android.widget.HorizontalScrollView;
+import android.widget.LinearLayout;
+import android.widget.ScrollView;
+import android.widget.Scroller;
+
+import com.andreaszeiser.jalousie.animation.FrameScheduler;
+import com.andreaszeiser.jalousie.animation.JalousieAnimator;
+import com.andreaszeiser.jalousie.util.AnimationSettings;
+import com.andreaszeiser.jalousie.util.Log;
+import com.andreaszeiser.jalousie.util.Trace;
+
+/**
+ * Implementation of the {@link Jalousie} functionality for an arbitrary
+ * ViewGroup. The ViewGroup, which is called the host, creates a delegate and
+ * forwards its Jalousie methods as well as its measure, layout, draw and
+ * lifecycle callbacks to it.
+ * 
+ * The visible content is everything in front of the {@link Separator} or the
+ * first children as declared by {@link #setCollapsedChildCount(int)}. If the
+ * host is a LinearLayout, the visible content size is calculated during
+ * measure by cumulating the sizes of the children in front of this boundary.
+ * For all other hosts, the position of the boundary after layout is used.
+ * Hosts, which implement {@link LayoutHost}, lay out their children already
+ * during the first measure, so that a collapsed view gets its collapsed size
+ * in its first layout pass.
+ * 
+ * @see LinearLayoutJalousie
+ * @see FrameLayoutJalousie
+ * @see RelativeLayoutJalousie
+ * 
+ * @author Andreas Zeiser
+ * 
+ */
+public class JalousieDelegate implements Jalousie {
+
+	private static final String TAG = JalousieDelegate.class.getSimpleName();
+
+	/**
+	 * Gives the delegate access to the super implementations of the host's
+	 * methods, which are overridden by the host to forward them to the
+	 * delegate.
+	 */
+	public interface Host {
+
+		/**
+		 * Calls the super implementation of the host's
+		 * <code>onMeasure(int, int)</code>.
+		 */
+		public void superOnMeasure(final int widthMeasureSpec,
+				final int heightMeasureSpec);
+
+		/**
+		 * Calls the host's <code>setMeasuredDimension(int, int)</code>.
+		 */
+		public void superSetMeasuredDimension(final int measuredWidth,
+				final int measuredHeight);
+
+		/**
+		 * Calls the super implementation of the host's
+		 * <code>dispatchDraw(Canvas)</code>.
+		 */
+		public void superDispatchDraw(final Canvas canvas);
+
+		/**
+		 * Calls the super implementation of the host's
+		 * <code>drawChild(Canvas, View, long)</code>.
+		 */
+		public boolean superDrawChild(final Canvas canvas, final View child,
+				final long drawingTime);
+	}
+
+	/**
+	 * Optional extension of {@link Host} for hosts, whose children are not
+	 * stacked. The delegate lays out the children, when it is measured before
+	 * the position of the boundary is known, and takes the position from
+	 * this layout.
+	 */
+	public interface LayoutHost extends Host {
+
+		/**
+		 * Calls the super implementation of the host's
+		 * <code>onLayout(boolean, int, int, int, int)</code>.
+		 */
+		public void superOnLayout(final boolean changed, final int left,
+				final int top, final int right, final int bottom);
+	}
+
+	/**
+	 * Animation type for expand animation.
+	 */
+	private static final int ANIMATION_TYPE_EXPAND = 1;
+
+	/**
+	 * Animation type for collapse animation.
+	 */
+	private static final int ANIMATION_TYPE_COLLAPSE = 2;
+
+	/**
+	 * Sets the default duration of an animation.
+	 */
+	public static final int DEFAULT_ANIMATION_DURATION = 350; // ms
+
+	/**
+	 * Time without scroll delta in ms, after which a scroll-linked view snaps
+	 * to the nearest state.
+	 * 
+	 * @see #consumeScrollDelta(int)
+	 */
+	public static final int SCROLL_SETTLE_DELAY = 150; // ms
+
+	/**
+	 * Names of the trace sections.
+	 * 
+	 * @see Trace
+	 */
+	private static final String TRACE_MEASURE = "Jalousie#measure";
+
+	private static final String TRACE_SEPARATOR = "Jalousie#separator";
+
+	private static final String TRACE_ANIM_FRAME = "Jalousie#animFrame";
+
+	private static final String TRACE_EXPAND = "Jalousie#expand";
+
+	private static final String TRACE_COLLAPSE = "Jalousie#collapse";
+
+	/**
+	 * Names of the async trace sections, which cover a whole action.
+	 */
+	private static final String TRACE_ACTION_EXPAND = "Jalousie#expanding";
+
+	private static final String TRACE_ACTION_COLLAPSE = "Jalousie#collapsing";
+
+
+	/**
+	 * The host view of this delegate.
+	 */
+	private final ViewGroup mView;
+
+	/**
+	 * Access to the super implementations of the host.
+	 */
+	private final Host mHost;
+
+	/**
+	 * True, if the host is a LinearLayout, whose children are stacked in
+	 * direction of the content gravity.
+	 */
+	private final boolean mStackedChildren;
+
+	/**
+	 * If the host is a LinearLayout, content gravity is based on its
+	 * orientation mode. <code>LinearLayout.HORIZONTAL</code> leads to
+	 * <code>Expandable.GRAVITY_HORIZONTAL</code>, otherwise this variable has a
+	 * value of <code>Expandable.GRAVITY_VERTICAL</code>. All other hosts read
+	 * the <code>contentGravity</code> attribute.
+	 */
+	private int mContentGravity;
+
+	/**
+	 * This is the reference to the separator within the layout, which separates
+	 * visible and hidden content. This reference can be <code>null</code>.
+	 * 
+	 * Notice, that the correct interpretation of this value depends on the
+	 * content gravity.
+	 * 
+	 * @see #mContentGravity
+	 */
+	private Separator mSeparator;
+
+	/**
+	 * If >= 0, the first children up to this count are the visible content
+	 * and the remaining children are hidden. Takes precedence over
+	 * {@link #mSeparator}, so that no separator view is needed at all.
+	 * 
+	 * @see #setCollapsedChildCount(int)
+	 */
+	private int mCollapsedChildCount = -1;
+
+	/**
+	 * During views's first measure in {@link #onMeasure(int, int)}, this
+	 * variable gets the original height (expanded state) of the view.
+	 * 
+	 * Notice, that the correct interpretation of this value depends on the
+	 * content gravity.
+	 * 
+	 * @see #mContentGravity
+	 */
+	private int mOriginalSize;
+
+	/**
+	 * During views's first measure in {@link #onMeasure(int, int)}, this
+	 * variable gets size of the visible content (collapsed state). If the
+	 * host's children are not stacked, this value is taken from the
+	 * separator's position in {@link #onLayout()} and is -1 until then.
+	 */
+	private int mVisibleContentSize = -1;
+
+	/**
+	 * If >= 0, this is a fixed size of the visible content, which is used
+	 * instead of the separator's position.
+	 * 
+	 * @see #setCollapsedSize(int)
+	 */
+	private int mCollapsedSize = -1;
+
+	/**
+	 * If >= 0, this is a fixed size of the whole content, which is used
+	 * instead of the measured size.
+	 * 
+	 * @see #setExpandedSize(int)
+	 */
+	private int mExpandedSize = -1;
+
+	/**
+	 * If >= 0, this view does not get larger than this size in expanded
+	 * state. The hidden section then scrolls within the remaining space.
+	 * 
+	 * @see #setMaxExpandedSize(int)
+	 */
+	private int mMaxExpandedSize = -1;
+
+	/**
+	 * Loads the hidden content on demand. Can be <code>null</code>.
+	 * 
+	 * @see #setContentLoader(JalousieContentLoader)
+	 */
+	private JalousieContentLoader mContentLoader;
+
+	/**
+	 * Callback of the running load or <code>null</code>, if no load is
+	 * running. Callbacks of earlier loads are ignored.
+	 */
+	private JalousieContentLoader.Callback mContentCallback;
+
+	/**
+	 * True, if the content loader has added the hidden content.
+	 */
+	private boolean mContentLoaded = false;
+
+	/**
+	 * True, if the content loader got the prefetch hint since the content was
+	 * invalidated the last time.
+	 */
+	private boolean mPrefetched = false;
+
+	/**
+	 * If >= 0, the content loader gets the prefetch hint, as soon as this
+	 * view comes within this distance of the visible area, while the main
+	 * thread is idle.
+	 * 
+	 * @see #setPrefetchDistance(int)
+	 */
+	private int mPrefetchDistance = -1;
+
+	/**
+	 * True, while the idle handler, which checks the prefetch distance, is
+	 * queued.
+	 */
+	private boolean mPrefetchCheckQueued = false;
+
+	/**
+	 * If > 0, a deferred expansion opens this view by this size right away
+	 * and expands it completely, when the content is loaded. Otherwise, the
+	 * expansion is held back until then.
+	 * 
+	 * @see #setExpansionPlaceholderSize(int)
+	 */
+	private int mExpansionPlaceholderSize = 0;
+
+	/**
+	 * True, while an expansion waits for the content loader.
+	 */
+	private boolean mExpansionDeferred = false;
+
+	private boolean mDeferredAnimated;
+
+	private boolean mDeferredFromTouch;
+
+	/**
+	 * True, while a deferred expansion continues, which was already approved
+	 * by the listeners through
+	 * {@link JalousieListener#onBeforeActionStart(int, boolean)}.
+	 */
+	private boolean mActionApproved = false;
+
+	/**
+	 * Size of the whole content, which is larger than {@link #mOriginalSize},
+	 * if the expanded size is capped by {@link #mMaxExpandedSize}.
+	 */
+	private int mContentSize;
+
+	/**
+	 * Scroll position of the hidden section within a capped expanded view.
+	 * The children of the hidden section are drawn and touched shifted by
+	 * this value, while their layout is not changed.
+	 */
+	private int mHiddenScroll = 0;
+
+	/**
+	 * True, if the current touch gesture started within the scrollable hidden
+	 * section.
+	 */
+	private boolean mTouchInHiddenSection = false;
+
+	/**
+	 * True, while the hidden section is scrolled by a drag gesture.
+	 */
+	private boolean mIsBeingDragged = false;
+
+	/**
+	 * Raw position of the touch, which was seen last during the current
+	 * gesture, in direction of the content gravity.
+	 */
+	private float mLastTouchPosition;
+
+	/**
+	 * Raw position of the touch down of the current gesture.
+	 */
+	private float mDownTouchPosition;
+
+	/**
+	 * Offset, which was applied to the touch event, that is currently
+	 * dispatched to the children.
+	 * 
+	 * @see #beforeDispatchTouchEvent(MotionEvent)
+	 */
+	private int mAppliedTouchOffset = 0;
+
+	/**
+	 * Tracks the velocity of drag gestures. Is created with the first drag.
+	 */
+	private VelocityTracker mVelocityTracker;
+
+	/**
+	 * Drives flings of the hidden section. Is created with the first fling.
+	 */
+	private Scroller mScroller;
+
+	/**
+	 * True, if the last measure pass measured only the children in front of
+	 * the separator, so that the hidden section has neither a valid measure
+	 * nor a valid layout.
+	 */
+	private boolean mHiddenSectionSkipped = false;
+
+	/**
+	 * True, while the hidden section is measured right before an expansion.
+	 */
+	private boolean mMeasureHiddenSection = false;
+
+	/**
+	 * Measure specs of the last measure pass, which are used to measure the
+	 * hidden section lazily.
+	 */
+	private int mLastWidthMeasureSpec;
+
+	private int mLastHeightMeasureSpec;
+
+	/**
+	 * If this is set to true, current measured content size
+	 * {@link #mVisibleContentSize} will be set as dimension for this view in
+	 * its {@link #onMeasure(int, int)} method.
+	 * 
+	 * @see #onMeasure(int, int)
+	 * @see #mVisibleContentSizeWasMeasured
+	 */
+	private boolean mForceRelayout = false;
+
+	/**
+	 * Indicates whether this view can be expanded or not.
+	 * 
+	 * @see #isExpandable()
+	 */
+	private boolean mIsExpandable = false;
+
+	/**
+	 * True, if view is expanded, otherwise false.
+	 * 
+	 * @see #isExpanded()
+	 */
+	private boolean mIsExpanded = false;
+
+	/**
+	 * If view cannot be close, this variable has a value of true.
+	 */
+	private boolean mIsAlwaysExpanded = false;
+
+	/**
+	 * If view is always closed, this variable has a value of true.
+	 */
+	private boolean mIsAlwaysCollapsed = false;
+
+	/**
+	 * The configuration of this view, which may be shared with other
+	 * jalousies. Holds the animation duration, interpolator, animation mode
+	 * and options. Is replaced by a derived spec, if one of its options is
+	 * changed for this view only.
+	 * 
+	 * @see #setJalousieSpec(JalousieSpec)
+	 */
+	private JalousieSpec mSpec = JalousieSpec.DEFAULT;
+
+	/**
+	 * Indicates, whether an expand or collapse animation is ongoing or not.
+	 */
+	private boolean mIsAnimating = false;
+
+	/**
+	 * If an expand or collapse animation is running, this variable has a
+	 * variable references to the responsable animator object.
+	 */
+	private JalousieAnimator mCurrentAnimator;
+
+	/**
+	 * Indicates which type of animation is running.
+	 * 
+	 * @see #ANIMATION_TYPE_COLLAPSE
+	 * @see #ANIMATION_TYPE_EXPAND
+	 */
+	private int mAnimationType;
+
+	/**
+	 * The device's animator duration scale, which is taken each time this
+	 * view is attached to a window.
+	 * 
+	 * @see AnimationSettings#getDurationScale(Context, android.os.IBinder)
+	 */
+	private float mDurationScale = 1f;
+
+	/**
+	 * Observes the frames of the running animation. Is created with the first
+	 * animation, if adaptive quality is enabled.
+	 */
+	private AnimationQualityController mQualityController;
+
+	/**
+	 * Quality of the running animation.
+	 * 
+	 * @see AnimationQualityController#QUALITY_FULL
+	 */
+	private int mQuality = AnimationQualityController.QUALITY_FULL;
+
+	/**
+	 * Number of animation frames, used to skip frames with quality
+	 * {@link AnimationQualityController#QUALITY_REDUCED_STEPS}.
+	 */
+	private int mFrameCount;
+
+	/**
+	 * If >= 0, drawing of children is clipped to this size. Is used by
+	 * animation quality {@link AnimationQualityController#QUALITY_CLIP_ONLY}.
+	 */
+	private int mClipSize = -1;
+
+	/**
+	 * Key of this view's snapshot within the {@link SnapshotCache}. A separate
+	 * object is used, so that the cache does not hold a reference to this
+	 * view.
+	 */
+	private Object mSnapshotKey;
+
+	/**
+	 * Snapshot of the hidden content, which is drawn during the running
+	 * animation. Is <code>null</code>, if live views are drawn.
+	 */
+	private Bitmap mSnapshot;
+
+	/**
+	 * True, if {@link #mSnapshot} is owned by the {@link SnapshotCache}.
+	 */
+	private boolean mSnapshotCached;
+
+	/**
+	 * Position of the snapshot, which is the position of the separator.
+	 */
+	private int mSnapshotOffset;
+
+	/**
+	 * The spring, which drives spring animations. Is created lazily.
+	 */
+	private Spring mSpring;
+
+	/**
+	 * True, while a spring animation is running.
+	 */
+	private boolean mSpringRunning = false;
+
+	/**
+	 * The action of the running spring animation.
+	 */
+	private int mSpringAction;
+
+	/**
+	 * Time of the last spring frame in ms or -1, if the first frame was not
+	 * delivered yet.
+	 */
+	private long mSpringFrameTime;
+
+	/**
+	 * Velocity in pixels per second, with which the next spring animation
+	 * starts, or {@link Float#NaN} to keep the current velocity.
+	 */
+	private float mPendingSpringVelocity = Float.NaN;
+
+	/**
+	 * True, while the size of this view is driven from outside through
+	 * {@link #setExpansionFraction(float)}.
+	 */
+	private boolean mScrubbing = false;
+
+	/**
+	 * The action, which was reported to the listeners, when scrubbing
+	 * started.
+	 */
+	private int mScrubAction;
+
+	/**
+	 * The expansion fraction, which was set last while scrubbing.
+	 */
+	private float mScrubFraction;
+
+	/**
+	 * The size, which belongs to {@link #mScrubFraction}.
+	 */
+	private int mScrubSize;
+
+	/**
+	 * True, while a frame callback is posted, which adjusts the size of this
+	 * expanded view to its changed content.
+	 * 
+	 * @see #trackContentSize()
+	 */
+	private boolean mContentSizeChangePending = false;
+
+	/**
+	 * Animates the size of this expanded view to its changed content. Is
+	 * created with the first content change and reused afterwards.
+	 */
+	private JalousieAnimator mContentSizeAnimator;
+
+	/**
+	 * Start and target size of the running content size adjustment.
+	 */
+	private int mContentSizeFrom;
+
+	private int mContentSizeTo;
+
+	/**
+	 * Collects the numbers shown by the debug overlay. Is created, when the
+	 * overlay is shown the first time, and never in release builds.
+	 * 
+	 * @see JalousieDebugOverlay
+	 */
+	private JalousieDebugOverlay mDebugOverlay;
+
+	/**
+	 * Listeners of this view only, in addition to the listeners of
+	 * {@link #mSpec}. Is created with the first listener.
+	 */
+	private ArrayList<JalousieListener> mJalousieListeners;
+
+	/**
+	 * Reference to the nearest enclosing ScrollView (vertical content gravity)
+	 * or HorizontalScrollView (horizontal content gravity). Is looked up while
+	 * this view is attached to a window and may be <code>null</code>.
+	 */
+	private ViewGroup mScrollParent;
+
+	/**
+	 * Scroll position of {@link #mScrollParent} in direction of the content
+	 * gravity, as it was seen last in scroll-linked mode.
+	 */
+	private int mLastScrollPosition;
+
+	/**
+	 * Reusable rect, so that no object has to be allocated during animation.
+	 */
+	private final Rect mTempRect = new Rect();
+
+	/**
+	 * @param view
+	 *            the host view
+	 * @param host
+	 *            access to the super implementations of the host
+	 */
+	public JalousieDelegate(final ViewGroup view, final Host host) {
+		mView = view;
+		mHost = host;
+		mStackedChildren = (view instanceof LinearLayout);
+	}
+
+	/**
+	 * Should only be called from the host's constructor.
+	 */
+	public void init(final Context context, final AttributeSet attrs) {
+		if (mStackedChildren) {
+			mContentGravity = (((LinearLayout) mView).getOrientation() == LinearLayout.HORIZONTAL) ? Jalousie.GRAVITY_HORIZONTAL
+					: Jalousie.GRAVITY_VERTICAL;
+		} else {
+			mContentGravity = Jalousie.GRAVITY_VERTICAL;
+		}
+
+		if (attrs != null) {
+			TypedArray a = context.getTheme().obtainStyledAttributes(attrs,
+					R.styleable.Jalousie, 0, 0);
+
+			try {
+				mIsExpanded = a
+						.getBoolean(R.styleable.Jalousie_expanded, false);
+
+				mIsAlwaysExpanded = a.getBoolean(
+						R.styleable.Jalousie_alwaysExpanded, false);
+
+				mCollapsedSize = a.getDimensionPixelSize(
+						R.styleable.Jalousie_collapsedSize, -1);
+
+				mExpandedSize = a.getDimensionPixelSize(
+						R.styleable.Jalousie_expandedSize, -1);
+
+				mMaxExpandedSize = a.getDimensionPixelSize(
+						R.styleable.Jalousie_maxExpandedSize, -1);
+
+				mCollapsedChildCount = a.getInt(
+						R.styleable.Jalousie_collapsedChildCount, -1);
+
+				mPrefetchDistance = a.getDimensionPixelSize(
+						R.styleable.Jalousie_prefetchDistance, -1);
+
+				mExpansionPlaceholderSize = a.getDimensionPixelSize(
+						R.styleable.Jalousie_expansionPlaceholderSize, 0);
+
+				mSpec = readSpec(a, mSpec);
+
+				if (!mStackedChildren) {
+					mContentGravity = a.getInt(
+							R.styleable.Jalousie_contentGravity,
+							Jalousie.GRAVITY_VERTICAL);
+				}
+			} finally {
+				a.recycle();
+			}
+		}
+
+		Log.v(TAG, "[init] gravity="
+				+ ((mContentGravity == LinearLayout.HORIZONTAL) ? "horizontal"
+						: "vertical"));
+
+	}
+
+	/**
+	 * Derives a spec from the given one, if any of its options is declared
+	 * in the attributes. Otherwise the given spec is returned, so that views
+	 * without such attributes keep sharing the same instance.
+	 */
+	private static JalousieSpec readSpec(final TypedArray a,
+			final JalousieSpec spec) {
+		if (!a.hasValue(R.styleable.Jalousie_scrollWithExpansion)
+				&& !a.hasValue(R.styleable.Jalousie_scrollLinked)
+				&& !a.hasValue(R.styleable.Jalousie_adaptiveQuality)
+				&& !a.hasValue(R.styleable.Jalousie_snapshotAnimation)
+				&& !a.hasValue(R.styleable.Jalousie_springAnimation)
+				&& !a.hasValue(R.styleable.Jalousie_springStiffness)
+				&& !a.hasValue(R.styleable.Jalousie_springDampingRatio)) {
+			return spec;
+		}
+
+		return spec
+				.buildUpon()
+				.setScrollWithExpansion(
+						a.getBoolean(R.styleable.Jalousie_scrollWithExpansion,
+								spec.isScrollWithExpansion()))
+				.setScrollLinked(
+						a.getBoolean(R.styleable.Jalousie_scrollLinked,
+								spec.isScrollLinked()))
+				.setAdaptiveQuality(
+						a.getBoolean(R.styleable.Jalousie_adaptiveQuality,
+								spec.isAdaptiveQuality()))
+				.setSnapshotAnimation(
+						a.getBoolean(R.styleable.Jalousie_snapshotAnimation,
+								spec.isSnapshotAnimation()))
+				.setSpringAnimation(
+						a.getBoolean(R.styleable.Jalousie_springAnimation,
+								spec.isSpringAnimation()))
+				.setSpringConfiguration(
+						a.getFloat(R.styleable.Jalousie_springStiffness,
+								spec.getSpringStiffness()),
+						a.getFloat(R.styleable.Jalousie_springDampingRatio,
+								spec.getSpringDampingRatio())).build();
+	}
+
+	/**
+	 * Has to be called from the host's <code>onFinishInflate()</code>.
+	 */
+	public void onFinishInflate() {
+		Log.v(TAG, "[onFinishInflate]");
+
+		mSeparator = (Separator) mView.findViewById(R.id.evg__separator);
+
+		Log.v(TAG, "[onFinishInflate] separator found=" + mSeparator);
+	}
+
+	/**
+	 * Is responsable for measuring the visible content size. If visible content
+	 * size was already measured, measuring will be skipped.
+	 * 
+	 * Takes also care of specified content gravity in {@link #mContentGravity}.
+	 * 
+	 * This method takes care of limiting the number of runs of measuring
+	 * visible content height.
+	 * 
+	 * Has to be called from the host's <code>onMeasure(int, int)</code>
+	 * instead of its super implementation.
+	 * 
+	 * @see #mVisibleContentSize
+	 * @see #mContentGravity
+	 */
+	public void onMeasure(final int widthMeasureSpec,
+			final int heightMeasureSpec) {
+		Trace.beginSection(TRACE_MEASURE);
+		try {
+			if (BuildConfig.DEBUG && JalousieDebugOverlay.isEnabled()) {
+				final long start = System.nanoTime();
+				measure(widthMeasureSpec, heightMeasureSpec);
+				getDebugOverlay().onMeasure(System.nanoTime() - start);
+			} else {
+				measure(widthMeasureSpec, heightMeasureSpec);
+			}
+		} finally {
+			Trace.endSection();
+		}
+	}
+
+	private void measure(final int widthMeasureSpec,
+			final int heightMeasureSpec) {
+		final int widthMode = MeasureSpec.getMode(widthMeasureSpec);
+		final int widthSize = MeasureSpec.getSize(widthMeasureSpec);
+		final int heightMode = MeasureSpec.getMode(heightMeasureSpec);
+		final int heightSize = MeasureSpec.getSize(heightMeasureSpec);
+
+		Log.v(TAG, "[onMeasure] widthMode=" + widthMode + ", heightMode="
+				+ heightMode + ", widthSize=" + widthSize + ", heighSize="
+				+ heightSize);
+
+		mLastWidthMeasureSpec = widthMeasureSpec;
+		mLastHeightMeasureSpec = heightMeasureSpec;
+
+		if (canSkipHiddenSection()) {
+			measureVisibleSection(widthMeasureSpec, heightMeasureSpec);
+			return;
+		}
+
+		mHiddenSectionSkipped = false;
+
+		if (mContentGravity == Jalousie.GRAVITY_HORIZONTAL) {
+			Log.v(TAG, "[onMeasure] gravity=horizontal");
+
+			// measure the maximum needed width for this view with
+			// MeasureSpec.Unspecified
+			// the framework itself will store the width in measured width
+			// through a call of setMeasuredDimension()
+			mHost.superOnMeasure(MeasureSpec.UNSPECIFIED, heightMeasureSpec);
+
+			// get the measured width
+			mOriginalSize = mView.getMeasuredWidth();
+		} else {
+			Log.v(TAG, "[onMeasure] gravity=vertical");
+
+			// measure the maximum needed height for this view with
+			// MeasureSpec.Unspecified
+			// the framework itself will store the height in measured height
+			// through a call of setMeasuredDimension()
+			mHost.superOnMeasure(widthMeasureSpec, MeasureSpec.UNSPECIFIED);
+
+			// get the measured height
+			mOriginalSize = mView.getMeasuredHeight();
+		}
+
+		if (mExpandedSize >= 0) {
+			mOriginalSize = mExpandedSize;
+		}
+
+		if (mCollapsedSize >= 0) {
+			mVisibleContentSize = mCollapsedSize;
+		} else if (mStackedChildren) {
+			// calculate the size of visible content
+			// this is calculated by cumulating the size of all views
+			// which are positioned before the boundary
+			// calling of getTop() is not an option, because it will slow
+			// down the animation :/
+			Trace.beginSection(TRACE_SEPARATOR);
+			mVisibleContentSize = 0;
+			int childCount = getVisibleChildCount();
+			View view = null;
+			for (int i = 0; i < childCount; i++) {
+				view = mView.getChildAt(i);
+				// if the separator is found, stop cumulating here
+				// if there is no boundary in the ViewGroup, the visible
+				// content size will be calculated to ViewGroup's size.
+				if (mCollapsedChildCount < 0 && view instanceof Separator) {
+					break;
+				}
+				mVisibleContentSize += (mContentGravity == Jalousie.GRAVITY_HORIZONTAL) ? view
+						.getMeasuredWidth() : view.getMeasuredHeight();
+			}
+			Trace.endSection();
+		} else if (!hasBoundary()) {
+			mVisibleContentSize = mOriginalSize;
+		} else if (mVisibleContentSize < 0) {
+			// the boundary's position is not known before the first layout,
+			// see onLayout()
+			final int boundaryPosition = layoutBoundary();
+			mVisibleContentSize = (boundaryPosition >= 0) ? boundaryPosition
+					: mOriginalSize;
+		}
+
+		capExpandedSize();
+		trackContentSize();
+
+		Log.v(TAG, "[onMeasure] original size=" + mOriginalSize);
+		Log.v(TAG, "[onMeasure] visible content size=" + mVisibleContentSize);
+
+		if (mOriginalSize > mVisibleContentSize) {
+			// ViewGroup is expandable
+			mIsExpandable = true;
+			Log.v(TAG, "[onMeasure] is expandable=true");
+		}
+
+		Log.v(TAG, "[onMeasure] mForceRelayout=" + mForceRelayout);
+		Log.v(TAG, "[onMeasure] mIsAnimating=" + mIsAnimating);
+		Log.v(TAG, "[onMeasure] mIsExpanded=" + mIsExpanded);
+		Log.v(TAG, "[onMeasure] mIsAlwaysExpanded=" + mIsAlwaysExpanded);
+
+		if (mForceRelayout && mIsExpanded) {
+			mForceRelayout = false;
+
+			if (mContentGravity == Jalousie.GRAVITY_HORIZONTAL) {
+				mHost.superSetMeasuredDimension(mOriginalSize, mView.getMeasuredHeight());
+			} else {
+				mHost.superSetMeasuredDimension(mView.getMeasuredWidth(), mOriginalSize);
+			}
+		} else if (!mIsAnimating && !mScrubbing && !mIsExpanded
+				&& !mIsAlwaysExpanded) {
+			Log.v(TAG, "[onMeasure] set self measured dimension");
+
+			if (mContentGravity == Jalousie.GRAVITY_HORIZONTAL) {
+				mHost.superSetMeasuredDimension(mVisibleContentSize, heightSize);
+			} else {
+				mHost.superSetMeasuredDimension(widthSize, mVisibleContentSize);
+			}
+		} else {
+			Log.v(TAG, "[onMeasure] set Android framework measured dimension");
+
+			if (mContentGravity == Jalousie.GRAVITY_HORIZONTAL) {
+				if (widthMode == MeasureSpec.UNSPECIFIED) {
+					mHost.superOnMeasure(widthMeasureSpec, heightMeasureSpec);
+				} else {
+					mHost.superSetMeasuredDimension(widthSize, mView.getMeasuredHeight());
+				}
+			} else { // gravity=vertical
+				if (heightMode == MeasureSpec.UNSPECIFIED) {
+					mHost.superOnMeasure(widthMeasureSpec, heightMeasureSpec);
+				} else {
+					mHost.superSetMeasuredDimension(mView.getMeasuredWidth(), heightSize);
+				}
+			}
+		}
+
+		if (mContentSize > mOriginalSize) {
+			// the framework measured the whole content, but this view must
+			// not get larger than its capped expanded size
+			if (mContentGravity == Jalousie.GRAVITY_HORIZONTAL) {
+				if (mView.getMeasuredWidth() > mOriginalSize) {
+					mHost.superSetMeasuredDimension(mOriginalSize,
+							mView.getMeasuredHeight());
+				}
+			} else if (mView.getMeasuredHeight() > mOriginalSize) {
+				mHost.superSetMeasuredDimension(mView.getMeasuredWidth(),
+						mOriginalSize);
+			}
+		}
+
+		Log.v(TAG, "[onMeasure] measured width=" + mView.getMeasuredWidth());
+		Log.v(TAG, "[onMeasure] measured height=" + mView.getMeasuredHeight());
+	}
+
+	/**
+	 * Lays out the children at the size, which was just measured for the
+	 * whole content, if the host implements {@link LayoutHost}. The layout
+	 * pass, which follows, finds the children at their positions already.
+	 * 
+	 * @return the position of the boundary or -1, if it is not known
+	 */
+	private int layoutBoundary() {
+		if (!(mHost instanceof LayoutHost)) {
+			return -1;
+		}
+
+		((LayoutHost) mHost).superOnLayout(true, 0, 0,
+				mView.getMeasuredWidth(), mView.getMeasuredHeight());
+
+		return getBoundaryPosition();
+	}
+
+	/**
+	 * Detects, that the content of this expanded view changed its size, e.g.
+	 * because an image was loaded. The size is not changed within this
+	 * measure pass, but adjusted on the next frame, so that all changes of a
+	 * frame lead to a single adjustment.
+	 */
+	private void trackContentSize() {
+		if (!mIsExpanded || mIsAnimating || mScrubbing || mForceRelayout
+				|| mContentSizeChangePending) {
+			return;
+		}
+
+		final int size;
+		if (mContentSizeAnimator != null && mContentSizeAnimator.isRunning()) {
+			size = mContentSizeTo;
+		} else {
+			size = (mContentGravity == Jalousie.GRAVITY_HORIZONTAL) ? getCurrentWidth()
+					: getCurrentHeight();
+		}
+
+		if (size < 0 || size == mOriginalSize) {
+			// the size is not fixed yet or did not change
+			return;
+		}
+
+		Log.v(TAG, "[trackContentSize] content size changed from " + size
+				+ " to " + mOriginalSize);
+
+		mContentSizeChangePending = true;
+		FrameScheduler.getInstance().postFrameCallback(
+				mContentSizeFrameCallback);
+	}
+
+	/**
+	 * Adjusts the size of this expanded view to the last measured content
+	 * size, animated if possible.
+	 */
+	private final FrameScheduler.FrameCallback mContentSizeFrameCallback = new FrameScheduler.FrameCallback() {
+
+		@Override
+		public void doFrame(final long frameTime) {
+			mContentSizeChangePending = false;
+
+			if (!mIsExpanded || mIsAnimating || mScrubbing) {
+				return;
+			}
+
+			final int fromSize = (mContentGravity == Jalousie.GRAVITY_HORIZONTAL) ? getCurrentWidth()
+					: getCurrentHeight();
+			final int toSize = mOriginalSize;
+
+			cancelContentSizeAdjustment();
+
+			if (fromSize < 0 || fromSize == toSize) {
+				return;
+			}
+
+			if (!isAnimationEffective() || !isVisibleOnScreen()) {
+				setCurrentSize(toSize);
+				return;
+			}
+
+			if (mContentSizeAnimator == null) {
+				mContentSizeAnimator = new JalousieAnimator();
+				mContentSizeAnimator
+						.setListener(new JalousieAnimator.Listener() {
+
+							@Override
+							public void onAnimationStart(
+									JalousieAnimator animator) {
+							}
+
+							@Override
+							public void onAnimationUpdate(
+									JalousieAnimator animator, float fraction) {
+								setCurrentSize(mContentSizeFrom
+										+ Math.round((mContentSizeTo - mContentSizeFrom)
+												* fraction));
+							}
+
+							@Override
+							public void onAnimationEnd(JalousieAnimator animator) {
+							}
+						});
+			}
+
+			mContentSizeFrom = fromSize;
+			mContentSizeTo = toSize;
+
+			mContentSizeAnimator.setDuration(getEffectiveAnimationDuration());
+			mContentSizeAnimator.setInterpolator(mSpec.getInterpolator());
+			mContentSizeAnimator.start();
+		}
+	};
+
+	/**
+	 * Stops a pending or running adjustment to changed content at the
+	 * current size.
+	 */
+	private void cancelContentSizeAdjustment() {
+		if (mContentSizeChangePending) {
+			mContentSizeChangePending = false;
+			FrameScheduler.getInstance().removeFrameCallback(
+					mContentSizeFrameCallback);
+		}
+
+		if (mContentSizeAnimator != null) {
+			mContentSizeAnimator.cancel();
+		}
+	}
+
+	/**
+	 * Limits the size of the expanded state to {@link #mMaxExpandedSize}, but
+	 * never below the visible content size. The whole content size is kept
+	 * in {@link #mContentSize}, so that the hidden section can be scrolled.
+	 */
+	private void capExpandedSize() {
+		mContentSize = mOriginalSize;
+
+		if (mMaxExpandedSize >= 0) {
+			mOriginalSize = Math.min(mOriginalSize,
+					Math.max(mMaxExpandedSize, mVisibleContentSize));
+		}
+
+		// the content may have shrunk
+		final int maxScroll = getMaxHiddenScroll();
+		if (mHiddenScroll > maxScroll) {
+			mHiddenScroll = maxScroll;
+		}
+	}
+
+	/**
+	 * The children behind the separator need not be measured, if this view is
+	 * collapsed and its collapsed size is declared. This is only possible for
+	 * hosts with stacked children, because all other hosts may position the
+	 * visible children relative to the hidden ones.
+	 */
+	private boolean canSkipHiddenSection() {
+		return mStackedChildren && mCollapsedSize >= 0
+				&& !mMeasureHiddenSection && !mForceRelayout && !mIsAnimating
+				&& !mScrubbing && !mIsExpanded && !mIsAlwaysExpanded;
+	}
+
+	/**
+	 * Measures only the children in front of the separator and sets the
+	 * declared collapsed size as dimension of this view.
+	 */
+	private void measureVisibleSection(final int widthMeasureSpec,
+			final int heightMeasureSpec) {
+		Log.v(TAG, "[measureVisibleSection]");
+
+		final boolean horizontal = (mContentGravity == Jalousie.GRAVITY_HORIZONTAL);
+		final int unspecified = MeasureSpec.makeMeasureSpec(0,
+				MeasureSpec.UNSPECIFIED);
+		final int horizontalPadding = mView.getPaddingLeft()
+				+ mView.getPaddingRight();
+		final int verticalPadding = mView.getPaddingTop()
+				+ mView.getPaddingBottom();
+
+		// size of this view perpendicular to the content gravity
+		int crossSize = 0;
+
+		final int childCount = getVisibleChildCount();
+		View child;
+		for (int i = 0; i < childCount; i++) {
+			child = mView.getChildAt(i);
+
+			if (mCollapsedChildCount < 0 && child instanceof Separator) {
+				break;
+			}
+
+			if (child.getVisibility() == View.GONE) {
+				continue;
+			}
+
+			final ViewGroup.LayoutParams params = child.getLayoutParams();
+			int horizontalMargins = 0;
+			int verticalMargins = 0;
+			if (params instanceof ViewGroup.MarginLayoutParams) {
+				final ViewGroup.MarginLayoutParams margins = (ViewGroup.MarginLayoutParams) params;
+				horizontalMargins = margins.leftMargin + margins.rightMargin;
+				verticalMargins = margins.topMargin + margins.bottomMargin;
+			}
+
+			if (horizontal) {
+				child.measure(ViewGroup.getChildMeasureSpec(unspecified,
+						horizontalPadding + horizontalMargins, params.width),
+						ViewGroup.getChildMeasureSpec(heightMeasureSpec,
+								verticalPadding + verticalMargins,
+								params.height));
+				crossSize = Math.max(crossSize, child.getMeasuredHeight()
+						+ verticalMargins);
+			} else {
+				child.measure(ViewGroup.getChildMeasureSpec(widthMeasureSpec,
+						horizontalPadding + horizontalMargins, params.width),
+						ViewGroup.getChildMeasureSpec(unspecified,
+								verticalPadding + verticalMargins,
+								params.height));
+				crossSize = Math.max(crossSize, child.getMeasuredWidth()
+						+ horizontalMargins);
+			}
+		}
+
+		mVisibleContentSize = mCollapsedSize;
+		if (mExpandedSize >= 0) {
+			mOriginalSize = mExpandedSize;
+			capExpandedSize();
+		}
+
+		if (mExpandedSize < 0 || mExpandedSize > mCollapsedSize) {
+			// without a declared expanded size, the declared collapsed size
+			// implies hidden content
+			mIsExpandable = true;
+		}
+
+		mHiddenSectionSkipped = true;
+
+		if (horizontal) {
+			mHost.superSetMeasuredDimension(mCollapsedSize, View.resolveSize(
+					crossSize + verticalPadding, heightMeasureSpec));
+		} else {
+			mHost.superSetMeasuredDimension(View.resolveSize(crossSize
+					+ horizontalPadding, widthMeasureSpec), mCollapsedSize);
+		}
+	}
+
+	/**
+	 * Measures the hidden section right before an expansion, if it was
+	 * skipped and no expanded size is declared, so that the target size of
+	 * the expansion is known.
+	 */
+	private void ensureHiddenSectionMeasured() {
+		if (!mHiddenSectionSkipped || mExpandedSize >= 0) {
+			return;
+		}
+
+		Log.v(TAG, "[ensureHiddenSectionMeasured]");
+
+		mMeasureHiddenSection = true;
+		mView.forceLayout();
+		mView.measure(mLastWidthMeasureSpec, mLastHeightMeasureSpec);
+		mMeasureHiddenSection = false;
+	}
+
+	/**
+	 * Has to be called from the host's <code>onLayout(...)</code> after its
+	 * super implementation. For hosts, whose children are not stacked, the
+	 * visible content size is taken from the boundary's position here. A
+	 * cached snapshot of the hidden content is dropped, if no action runs.
+	 */
+	public void onLayout() {
+		if (mSnapshotKey != null && mSnapshot == null && !mIsAnimating
+				&& !mSpringRunning && !mScrubbing) {
+			// the hidden children may be rebound or changed from now on
+			invalidateSnapshot();
+		}
+
+		if (mStackedChildren || !hasBoundary() || mCollapsedSize >= 0) {
+			return;
+		}
+
+		final int visibleContentSize = getBoundaryPosition();
+
+		if (visibleContentSize >= 0
+				&& visibleContentSize != mVisibleContentSize) {
+			Log.v(TAG, "[onLayout] visible content size=" + visibleContentSize);
+
+			mVisibleContentSize = visibleContentSize;
+
+			if (!mIsAnimating && !mIsExpanded && !mIsAlwaysExpanded) {
+				// the collapsed size is known now, so measure again
+				mView.requestLayout();
+			}
+		}
+	}
+
+	/**
+	 * Has to be called from the host's
+	 * <code>onSizeChanged(int, int, int, int)</code>.
+	 */
+	public void onSizeChanged(int w, int h, int oldw, int oldh) {
+		Log.v(TAG, "[onSizeChanged] w=" + w + ", h=" + h + ", oldw=" + oldw
+				+ ", oldh=" + oldh);
+
+		if (mSpec.isScrollWithExpansion() && mIsAnimating
+				&& mAnimationType == ANIMATION_TYPE_EXPAND) {
+			scrollRevealedContentIntoView();
+		}
+	}
+
+	/**
+	 * Has to be called from the host's <code>onAttachedToWindow()</code>.
+	 */
+	public void onAttachedToWindow() {
+		mScrollParent = findScrollParent();
+		mDurationScale = AnimationSettings.getDurationScale(mView.getContext(),
+				mView.getWindowToken());
+
+		Log.v(TAG, "[onAttachedToWindow] scroll parent=" + mScrollParent);
+
+		updatePrefetchObserver();
+		updateScrollLinkObserver();
+	}
+
+	/**
+	 * Has to be called from the host's <code>onDetachedFromWindow()</code>.
+	 */
+	public void onDetachedFromWindow() {
+		mScrollParent = null;
+
+		mView.getViewTreeObserver().removeOnScrollChangedListener(
+				mScrollLinkListener);
+
+		if (mContentSizeAnimator != null && mContentSizeAnimator.isRunning()) {
+			// nobody will see the rest of the adjustment
+			mContentSizeAnimator.end();
+		}
+		cancelContentSizeAdjustment();
+
+		mView.removeCallbacks(mScrollSettleRunnable);
+
+		mView.getViewTreeObserver().removeOnScrollChangedListener(
+				mPrefetchScrollListener);
+		if (mPrefetchCheckQueued) {
+			Looper.myQueue().removeIdleHandler(mPrefetchIdleHandler);
+			mPrefetchCheckQueued = false;
+		}
+
+		if (mSpringRunning) {
+			// nobody will see the rest of the movement
+			finishSpring();
+		}
+
+		releaseSnapshot();
+		invalidateSnapshot();
+
+		stopFling();
+
+		if (mVelocityTracker != null) {
+			mVelocityTracker.recycle();
+			mVelocityTracker = null;
+		}
+	}
+
+	/**
+	 * Walks up the view hierarchy and returns the nearest scroll container,
+	 * which scrolls in the direction of the content gravity.
+	 * 
+	 * @return the enclosing scroll container or <code>null</code>
+	 */
+	private ViewGroup findScrollParent() {
+		ViewParent parent = mView.getParent();
+
+		while (parent instanceof ViewGroup) {
+			if (mContentGravity == Jalousie.GRAVITY_VERTICAL
+					&& parent instanceof ScrollView) {
+				return (ViewGroup) parent;
+			} else if (mContentGravity == Jalousie.GRAVITY_HORIZONTAL
+					&& parent instanceof HorizontalScrollView) {
+				return (ViewGroup) parent;
+			}
+
+			parent = parent.getParent();
+		}
+
+		return null;
+	}
+
+	/**
+	 * Is called during the layout pass of each expand step. Scrolls the
+	 * enclosing scroll container by the amount this view grew beyond its
+	 * visible region, so that reveal and scroll happen in the same frame and no
+	 * second scroll animation is needed afterwards. The scroll is limited, so
+	 * that the beginning of this view never leaves the visible region.
+	 */
+	private void scrollRevealedContentIntoView() {
+		final ViewGroup scrollParent = mScrollParent;
+
+		if (scrollParent == null) {
+			return;
+		}
+
+		// the scroll parent's child was already laid out with its new size,
+		// because layout is done top-down, so the scroll range is up to date
+		mTempRect.set(0, 0, mView.getWidth(), mView.getHeight());
+		scrollParent.offsetDescendantRectToMyCoords(mView, mTempRect);
+
+		int delta;
+		if (mContentGravity == Jalousie.GRAVITY_HORIZONTAL) {
+			final int visibleStart = scrollParent.getScrollX()
+					+ scrollParent.getPaddingLeft();
+			final int visibleEnd = scrollParent.getScrollX()
+					+ scrollParent.getWidth() - scrollParent.getPaddingRight();
+
+			delta = Math.min(mTempRect.right - visibleEnd, mTempRect.left
+					- visibleStart);
+
+			if (delta > 0) {
+				scrollParent.scrollBy(delta, 0);
+			}
+		} else {
+			final int visibleStart = scrollParent.getScrollY()
+					+ scrollParent.getPaddingTop();
+			final int visibleEnd = scrollParent.getScrollY()
+					+ scrollParent.getHeight() - scrollParent.getPaddingBottom();
+
+			delta = Math.min(mTempRect.bottom - visibleEnd, mTempRect.top
+					- visibleStart);
+
+			if (delta > 0) {
+				scrollParent.scrollBy(0, delta);
+			}
+		}
+
+		Log.v(TAG, "[scrollRevealedContentIntoView] delta=" + delta);
+	}
+
+	/**
+	 * Call this method, if this view should set its dimension to freshly
+	 * calculated {@link #mVisibleContentSize}. This is particularly helpful, if
+	 * views were added or removed before.
+	 * 
+	 * Size changes of the content of an expanded view are tracked
+	 * automatically and animated, this method applies the new size right
+	 * away.
+	 */
+	public void forceRelayout() {
+		Log.v(TAG, "[forceRelayout]");
+
+		mForceRelayout = true;
+
+		invalidateSnapshot();
+	}
+
+	/**
+	 * Has to be called from the host's <code>onSaveInstanceState()</code>.
+	 * 
+	 * @param superState
+	 *            the state returned by the host's super implementation
+	 * @return the state, which has to be returned by the host
+	 */
+	public Parcelable onSaveInstanceState(final Parcelable superState) {
+		Log.v(TAG, "[onSaveInstanceState]");
+
+		Bundle bundle = new Bundle();
+
+		bundle.putParcelable("instanceState", superState);
+		bundle.putBoolean("isExpanded", mIsExpanded);
+
+		Log.v(TAG, "[onSaveInstanceState] mIsExpanded=" + mIsExpanded);
+		Log.v(TAG, "[onSaveInstanceState] bundle=" + bundle);
+
+		return bundle;
+	}
+
+	/**
+	 * Has to be called from the host's
+	 * <code>onRestoreInstanceState(Parcelable)</code>.
+	 * 
+	 * @param state
+	 *            the state given to the host
+	 * @return the state, which has to be passed to the host's super
+	 *         implementation
+	 */
+	public Parcelable onRestoreInstanceState(final Parcelable state) {
+		Log.v(TAG, "[onRestoreInstanceState] state=" + state);
+
+		if (state instanceof Bundle) {
+			Bundle bundle = (Bundle) state;
+
+			mIsExpanded = bundle.getBoolean("isExpanded");
+
+			Log.v(TAG, "[onRestoreInstanceState] mIsExpanded=" + mIsExpanded);
+
+			return bundle.getParcelable("instanceState");
+		}
+
+		return state;
+	}
+
+	@Override
+	public int getContentGravity() {
+		return mContentGravity;
+	}
+
+	@Override
+	public int getCurrentWidth() {
+		ViewGroup.LayoutParams params = mView.getLayoutParams();
+
+		if (params == null) {
+			// no layout params are set right now, return 0 as value
+			return 0;
+		}
+
+		return params.width;
+	}
+
+	@Override
+	public void setCurrentWidth(int currentWidth) {
+		if (mContentGravity != Jalousie.GRAVITY_HORIZONTAL) {
+			// if content gravity is not horizontal, ignore new width
+			return;
+		}
+
+		ViewGroup.LayoutParams params = mView.getLayoutParams();
+
+		if (params != null) {
+			mView.getLayoutParams().width = currentWidth;
+			mView.requestLayout();
+		}
+	}
+
+	@Override
+	public int getCurrentHeight() {
+		ViewGroup.LayoutParams params = mView.getLayoutParams();
+
+		if (params == null) {
+			// no layout params are set right now, return 0 as value
+			return 0;
+		}
+
+		return params.height;
+	}
+
+	@Override
+	public void setCurrentHeight(final int currentHeight) {
+		if (mContentGravity != Jalousie.GRAVITY_VERTICAL) {
+			// if content gravity is not vertical, ignore new height
+			return;
+		}
+
+		ViewGroup.LayoutParams params = mView.getLayoutParams();
+
+		if (params != null) {
+			mView.getLayoutParams().height = currentHeight;
+			mView.requestLayout();
+		}
+	}
+
+	/**
+	 * Expands the view animated. Takes care of ongoing animation, content
+	 * gravity and expand restriction, e.g. {@link #mIsAlwaysExpanded}.
+	 * 
+	 * Shortcut method for {@link #expand(boolean)}.
+	 * 
+	 * @see #expand(boolean)
+	 * @see #collapse()
+	 * @see #toggle()
+	 */
+	@Override
+	public boolean expand() {
+		Log.v(TAG, "[expand]");
+
+		return expand(true, false);
+	}
+
+	/**
+	 * Expands the view, either animated or not.
+	 * 
+	 * @see #collapse()
+	 * @see #toggle()
+	 */
+	@Override
+	public boolean expand(boolean animated) {
+		Log.v(TAG, "[expand] animated=" + animated);
+
+		return expand(animated, false);
+	}
+
+	/**
+	 * Expands the view, either animated or not. Takes care of ongoing
+	 * animation, content gravity and expand restriction, e.g.
+	 * {@link #mIsAlwaysExpanded}.
+	 * 
+	 * @param animated
+	 * @param fromTouch
+	 * @return true, if the view expands or if the expansion is scheduled
+	 *         until the content is loaded, see
+	 *         {@link #setContentLoader(JalousieContentLoader)}
+	 */
+	private boolean expand(final boolean animated, final boolean fromTouch) {
+		Trace.beginSection(TRACE_EXPAND);
+		try {
+			return performExpand(animated, fromTouch);
+		} finally {
+			Trace.endSection();
+		}
+	}
+
+	private boolean performExpand(boolean animated, final boolean fromTouch) {
+		Log.v(TAG, "[expand] animated=" + animated + ", fromTouch=" + fromTouch);
+
+		if (!mIsExpandable) {
+			// if view cannot be expanded, stop here
+			return false;
+		}
+
+		if (mIsAlwaysExpanded && mIsExpanded) {
+			// if view is always expanded and is not collapsed at this time,
+			// stop here
+			return false;
+		}
+
+		if (!mIsAnimating && !mScrubbing && mIsExpanded) {
+			// if view is already expanded, do not expand and return false as
+			// result
+			return false;
+		}
+
+		if (animated && !isAnimationEffective()) {
+			// if animations are disabled for this view, the whole app or the
+			// device, ensure that expand is done not animated
+			Log.v(TAG,
+					"requested animation on expand is cancelled due to disabled animations. Expand is done not animated");
+			animated = false;
+		}
+
+		if (!mActionApproved
+				&& notifyOnBeforeActionStart(JalousieListener.ACTION_EXPAND,
+						fromTouch)) {
+			return false;
+		}
+
+		if (mContentLoader != null && !mContentLoaded) {
+			if (mIsAlwaysExpanded) {
+				// the state has to change right away, the content follows
+				loadContent();
+			} else {
+				// the expansion is only scheduled, it starts as soon as the
+				// content is loaded
+				deferExpansion(animated, fromTouch);
+
+				return true;
+			}
+		}
+
+		updateVisibleContentSize();
+		ensureHiddenSectionMeasured();
+
+		if (mCurrentAnimator != null && mCurrentAnimator.isRunning()) {
+			mCurrentAnimator.cancel();
+		}
+		cancelContentSizeAdjustment();
+
+		// continue from the scrubbed size, if scrubbing is interrupted
+		final int fromSize = mScrubbing ? mScrubSize : mVisibleContentSize;
+		stopScrubbing();
+
+		if (!animated || !isVisibleOnScreen()) {
+			// nobody would see the animation, so do not spend layout passes
+			// and an animator on it
+			stopSpring();
+			applyActionImmediately(JalousieListener.ACTION_EXPAND,
+					mOriginalSize);
+
+			return true;
+		}
+
+		if (mSpec.isSpringAnimation()) {
+			startSpring(JalousieListener.ACTION_EXPAND, mOriginalSize);
+
+			return true;
+		}
+
+		startAnimation(JalousieListener.ACTION_EXPAND, fromSize, mOriginalSize);
+
+		return true;
+	}
+
+	/**
+	 * Collapses the view animated. Takes care of ongoing animation, content
+	 * gravity and collapse restriction, e.g. {@link #mIsAlwaysExpanded}.
+	 * 
+	 * Shortcut method for {@link #collapse(boolean)}.
+	 * 
+	 * @see #collapse(boolean)
+	 * @see #expand()
+	 * @see #toggle()
+	 */
+	@Override
+	public boolean collapse() {
+		Log.v(TAG, "[collapse]");
+
+		return collapse(true, false);
+	}
+
+	/**
+	 * Collapses the view, either animated or not.
+	 * 
+	 * @see #expand()
+	 * @see #toggle()
+	 */
+	@Override
+	public boolean collapse(boolean animated) {
+		return collapse(animated, false);
+	}
+
+	/**
+	 * Collapses the view, either animated or not. Takes care of ongoing
+	 * animation, content gravity and collapse restriction, e.g.
+	 * {@link #mIsAlwaysExpanded}.
+	 * 
+	 * @see #expand()
+	 * @see #toggle()
+	 */
+	private boolean collapse(final boolean animated, final boolean fromTouch) {
+		Trace.beginSection(TRACE_COLLAPSE);
+		try {
+			return performCollapse(animated, fromTouch);
+		} finally {
+			Trace.endSection();
+		}
+	}
+
+	private boolean performCollapse(boolean animated, final boolean fromTouch) {
+		Log.v(TAG, "[collapse] animated=" + animated);
+
+		if (cancelDeferredExpansion() && !mScrubbing) {
+			// the expansion was held back, so there is nothing to collapse
+			return true;
+		}
+
+		if (!mIsExpandable) {
+			// if view cannot be expanded, stop here
+			return false;
+		}
+
+		if (mIsAlwaysExpanded) {
+			// if view is always expanded and is not collapsed at this time,
+			// stop here
+			return false;
+		}
+
+		if (!mIsAnimating && !mScrubbing && !mIsExpanded) {
+			// if view is already collapsed, do not collapse and return false as
+			// result
+			return false;
+		}
+
+		if (animated && !isAnimationEffective()) {
+			// if animations are disabled for this view, the whole app or the
+			// device, ensure that collapse is done not animated
+			Log.v(TAG,
+					"requested animation on collapse is cancelled due to disabled animations. Collapse is done not animated");
+			animated = false;
+		}
+
+		if (notifyOnBeforeActionStart(JalousieListener.ACTION_COLLAPSE, fromTouch)) {
+			return false;
+		}
+
+		updateVisibleContentSize();
+		scrollHiddenSectionTo(0);
+
+		if (mCurrentAnimator != null && mCurrentAnimator.isRunning()) {
+			mCurrentAnimator.cancel();
+		}
+		cancelContentSizeAdjustment();
+
+		// continue from the scrubbed size, if scrubbing is interrupted
+		final int fromSize = mScrubbing ? mScrubSize : mOriginalSize;
+		stopScrubbing();
+
+		if (!animated || !isVisibleOnScreen()) {
+			// nobody would see the animation, so do not spend layout passes
+			// and an animator on it
+			stopSpring();
+			applyActionImmediately(JalousieListener.ACTION_COLLAPSE,
+					mVisibleContentSize);
+
+			return true;
+		}
+
+		if (mSpec.isSpringAnimation()) {
+			startSpring(JalousieListener.ACTION_COLLAPSE, mVisibleContentSize);
+
+			return true;
+		}
+
+		startAnimation(JalousieListener.ACTION_COLLAPSE, fromSize,
+				mVisibleContentSize);
+
+		return true;
+	}
+
+	/**
+	 * Updates the visible content size right before an action starts, either
+	 * from the fixed collapsed size or from the boundary's position.
+	 */
+	private void updateVisibleContentSize() {
+		if (mCollapsedSize >= 0) {
+			mVisibleContentSize = mCollapsedSize;
+		} else if (hasBoundary()) {
+			Trace.beginSection(TRACE_SEPARATOR);
+			final int boundaryPosition = getBoundaryPosition();
+			if (boundaryPosition >= 0) {
+				mVisibleContentSize = boundaryPosition;
+			}
+			Trace.endSection();
+		}
+	}
+
+	/**
+	 * @return true, if either a separator or a collapsed child count marks
+	 *         the end of the visible content
+	 */
+	private boolean hasBoundary() {
+		return mCollapsedChildCount >= 0 || mSeparator != null;
+	}
+
+	/**
+	 * @return number of leading children, which are candidates for the
+	 *         visible content
+	 */
+	private int getVisibleChildCount() {
+		final int childCount = mView.getChildCount();
+
+		return (mCollapsedChildCount >= 0) ? Math.min(mCollapsedChildCount,
+				childCount) : childCount;
+	}
+
+	/**
+	 * Returns the index of the first hidden child.
+	 * 
+	 * @return the index or -1, if there is no boundary
+	 */
+	private int getHiddenChildIndex() {
+		if (mCollapsedChildCount >= 0) {
+			return getVisibleChildCount();
+		}
+
+		final int separatorIndex = mView.indexOfChild(mSeparator);
+
+		return (separatorIndex >= 0) ? separatorIndex + 1 : -1;
+	}
+
+	/**
+	 * Returns the position of the boundary between visible and hidden
+	 * content after layout. Everything on the left side (horizontal) or above
+	 * (vertical) of it is the 'visible' content.
+	 * 
+	 * @return the position or -1, if no child is hidden
+	 */
+	private int getBoundaryPosition() {
+		final boolean horizontal = mContentGravity == Jalousie.GRAVITY_HORIZONTAL;
+
+		if (mCollapsedChildCount < 0) {
+			return horizontal ? mSeparator.getLeft() : mSeparator.getTop();
+		}
+
+		if (mCollapsedChildCount >= mView.getChildCount()) {
+			return -1;
+		}
+
+		// the boundary lies in front of the first hidden child's margin
+		final View child = mView.getChildAt(mCollapsedChildCount);
+		final ViewGroup.LayoutParams params = child.getLayoutParams();
+		int margin = 0;
+		if (params instanceof ViewGroup.MarginLayoutParams) {
+			final ViewGroup.MarginLayoutParams margins = (ViewGroup.MarginLayoutParams) params;
+			margin = horizontal ? margins.leftMargin : margins.topMargin;
+		}
+
+		return (horizontal ? child.getLeft() : child.getTop()) - margin;
+	}
+
+	/**
+	 * Starts the animator for the given action, which changes the size of
+	 * this view from the given start to the given end size.
+	 * 
+	 * @param action
+	 *            either {@link JalousieListener#ACTION_EXPAND} or
+	 *            {@link JalousieListener#ACTION_COLLAPSE}
+	 * @param fromSize
+	 * @param toSize
+	 */
+	private void startAnimation(final int action, final int fromSize,
+			final int toSize) {
+		stopSpring();
+
+		// configure animation duration
+		final int animationDuration = getEffectiveAnimationDuration();
+
+		if (mSpec.isAdaptiveQuality()) {
+			if (mQualityController == null) {
+				mQualityController = new AnimationQualityController(
+						mView.getContext());
+			}
+
+			mQuality = mQualityController.start();
+		} else {
+			mQuality = AnimationQualityController.QUALITY_FULL;
+		}
+		mFrameCount = 0;
+
+		if (mQuality == AnimationQualityController.QUALITY_CLIP_ONLY) {
+			startClipOnly(action, fromSize);
+		}
+
+		if (mSpec.isSnapshotAnimation() && !mHiddenSectionSkipped) {
+			releaseSnapshot();
+			prepareSnapshot();
+		}
+
+		final JalousieAnimator animator = new JalousieAnimator();
+		animator.setDuration(animationDuration);
+		animator.setInterpolator(mSpec.getInterpolator());
+		animator.setListener(new JalousieAnimator.Listener() {
+
+			@Override
+			public void onAnimationStart(JalousieAnimator animation) {
+
+				mIsAnimating = true;
+				mAnimationType = (action == JalousieListener.ACTION_EXPAND) ? ANIMATION_TYPE_EXPAND
+						: ANIMATION_TYPE_COLLAPSE;
+
+				notifiyOnAnimationStart(action, animationDuration);
+			}
+
+			@Override
+			public void onAnimationUpdate(JalousieAnimator animation,
+					float fraction) {
+				applyAnimatedSize(fromSize
+						+ Math.round((toSize - fromSize) * fraction));
+			}
+
+			@Override
+			public void onAnimationEnd(JalousieAnimator animation) {
+
+				if (mQuality != AnimationQualityController.QUALITY_FULL) {
+					// the last frame may have been skipped or only clipped,
+					// so ensure the final size is set
+					mClipSize = -1;
+					setCurrentSize(toSize);
+				}
+
+				if (mSpec.isAdaptiveQuality() && mQualityController != null) {
+					mQualityController.finish(!animation.isCancelled());
+				}
+
+				releaseSnapshot();
+
+				mIsAnimating = false;
+				mCurrentAnimator = null;
+				mAnimationType = 0;
+				mIsExpanded = (action == JalousieListener.ACTION_EXPAND);
+
+				notifiyOnAnimationEnd(action);
+			}
+		});
+
+		mCurrentAnimator = animator;
+		mCurrentAnimator.start();
+	}
+
+	/**
+	 * Applies the animated size of the running animation, depending on the
+	 * current animation quality. If adaptive quality is enabled, the frame
+	 * intervals are measured here and the quality may be degraded.
+	 */
+	private void applyAnimatedSize(final int size) {
+		Trace.beginSection(TRACE_ANIM_FRAME);
+		try {
+			if (BuildConfig.DEBUG && JalousieDebugOverlay.isEnabled()) {
+				final long start = System.nanoTime();
+				applyAnimatedSizeWithQuality(size);
+				getDebugOverlay().onFrame(System.nanoTime() - start);
+			} else {
+				applyAnimatedSizeWithQuality(size);
+			}
+		} finally {
+			Trace.endSection();
+		}
+	}
+
+	private void applyAnimatedSizeWithQuality(final int size) {
+		// the update on start has no frame time, it is not measured
+		final long frameTime = (mCurrentAnimator != null) ? mCurrentAnimator
+				.getFrameTime() : -1;
+
+		if (mSpec.isAdaptiveQuality() && mQualityController != null
+				&& frameTime >= 0) {
+			final int quality = mQualityController.onFrame(frameTime);
+
+			if (quality != mQuality) {
+				mQuality = quality;
+
+				if (quality == AnimationQualityController.QUALITY_CLIP_ONLY) {
+					startClipOnly(mAnimationType == ANIMATION_TYPE_EXPAND ? JalousieListener.ACTION_EXPAND
+							: JalousieListener.ACTION_COLLAPSE, size);
+				} else if (quality == AnimationQualityController.QUALITY_JUMP_TO_END) {
+					// the animator allows to be ended from within its own
+					// update callback, the end state is applied right away
+					mCurrentAnimator.end();
+					return;
+				}
+			}
+		}
+
+		notifyOnActionProgress(
+				(mAnimationType == ANIMATION_TYPE_EXPAND) ? JalousieListener.ACTION_EXPAND
+						: JalousieListener.ACTION_COLLAPSE, size);
+
+		switch (mQuality) {
+		case AnimationQualityController.QUALITY_REDUCED_STEPS:
+			// lay out only every second frame
+			if ((mFrameCount++ & 1) == 0) {
+				setCurrentSize(size);
+			}
+			break;
+
+		case AnimationQualityController.QUALITY_CLIP_ONLY:
+			mClipSize = size;
+			mView.invalidate();
+			break;
+
+		case AnimationQualityController.QUALITY_JUMP_TO_END:
+			// the end of the animation is already requested
+			break;
+
+		default:
+			setCurrentSize(size);
+			break;
+		}
+	}
+
+	/**
+	 * Starts the spring towards the given size. If the spring is already
+	 * running, only its target is changed, so that position and velocity are
+	 * continued.
+	 * 
+	 * @param action
+	 *            either {@link JalousieListener#ACTION_EXPAND} or
+	 *            {@link JalousieListener#ACTION_COLLAPSE}
+	 * @param toSize
+	 */
+	private void startSpring(final int action, final int toSize) {
+		if (mSpring == null) {
+			mSpring = new Spring();
+		}
+
+		mSpring.setConfiguration(mSpec.getSpringStiffness(),
+				mSpec.getSpringDampingRatio());
+
+		if (mSpringRunning) {
+			if (action == mSpringAction) {
+				mSpring.setTarget(toSize);
+				applyPendingSpringVelocity();
+				return;
+			}
+
+			// the reversed action ends like a cancelled animator
+			mIsExpanded = (mSpringAction == JalousieListener.ACTION_EXPAND);
+			notifiyOnAnimationEnd(mSpringAction);
+		} else {
+			mSpring.setPosition((mContentGravity == Jalousie.GRAVITY_HORIZONTAL) ? mView
+					.getWidth() : mView.getHeight());
+			mSpring.setVelocity(0);
+
+			if (mSpec.isSnapshotAnimation() && !mHiddenSectionSkipped) {
+				releaseSnapshot();
+				prepareSnapshot();
+			}
+
+			mSpringRunning = true;
+			mSpringFrameTime = -1;
+			FrameScheduler.getInstance().postFrameCallback(mSpringFrameCallback);
+		}
+
+		mSpring.setTarget(toSize);
+		applyPendingSpringVelocity();
+
+		mSpringAction = action;
+		mIsAnimating = true;
+		mAnimationType = (action == JalousieListener.ACTION_EXPAND) ? ANIMATION_TYPE_EXPAND
+				: ANIMATION_TYPE_COLLAPSE;
+
+		notifiyOnAnimationStart(action,
+				(int) (mSpring.estimateDuration() * mDurationScale));
+	}
+
+	private void applyPendingSpringVelocity() {
+		if (!Float.isNaN(mPendingSpringVelocity)) {
+			mSpring.setVelocity(mPendingSpringVelocity);
+			mPendingSpringVelocity = Float.NaN;
+		}
+	}
+
+	/**
+	 * Advances the spring on each frame and applies its position as the size
+	 * of this view, until the spring comes to rest.
+	 */
+	private final FrameScheduler.FrameCallback mSpringFrameCallback = new FrameScheduler.FrameCallback() {
+
+		@Override
+		public void doFrame(final long frameTime) {
+			if (!mSpringRunning) {
+				return;
+			}
+
+			// the device's animator duration scale slows down the spring
+			// the same way it stretches a fixed duration
+			final long interval = (mSpringFrameTime < 0) ? 0 : frameTime
+					- mSpringFrameTime;
+			final boolean moving = mSpring.step(interval
+					/ (1000f * mDurationScale));
+			mSpringFrameTime = frameTime;
+
+			if (!moving) {
+				finishSpring();
+				return;
+			}
+
+			// an underdamped spring may overshoot, but the view must not get
+			// smaller than its visible content or larger than its content
+			final int size = Math.max(mVisibleContentSize, Math.min(
+					mOriginalSize, Math.round(mSpring.getPosition())));
+
+			Trace.beginSection(TRACE_ANIM_FRAME);
+			if (BuildConfig.DEBUG && JalousieDebugOverlay.isEnabled()) {
+				final long start = System.nanoTime();
+				applySpringSize(size);
+				getDebugOverlay().onFrame(System.nanoTime() - start);
+			} else {
+				applySpringSize(size);
+			}
+			Trace.endSection();
+
+			FrameScheduler.getInstance().postFrameCallback(this);
+		}
+	};
+
+	private void applySpringSize(final int size) {
+		setCurrentSize(size);
+		notifyOnActionProgress(mSpringAction, size);
+	}
+
+	/**
+	 * Applies the target size of the running spring animation and ends it.
+	 */
+	private void finishSpring() {
+		setCurrentSize((int) mSpring.getTarget());
+
+		stopSpring();
+	}
+
+	/**
+	 * Stops the running spring animation at its current size. Listeners are
+	 * notified the same way as for a cancelled animator.
+	 */
+	private void stopSpring() {
+		if (!mSpringRunning) {
+			return;
+		}
+
+		mSpringRunning = false;
+		FrameScheduler.getInstance().removeFrameCallback(mSpringFrameCallback);
+
+		releaseSnapshot();
+
+		mIsAnimating = false;
+		mAnimationType = 0;
+		mIsExpanded = (mSpringAction == JalousieListener.ACTION_EXPAND);
+
+		notifiyOnAnimationEnd(mSpringAction);
+	}
+
+	/**
+	 * Expands this view with a spring animation, which starts with the given
+	 * velocity, e.g. the velocity of a fling gesture. Has the same effect as
+	 * {@link #expand()}, if spring animation is disabled.
+	 * 
+	 * @param velocity
+	 *            velocity in pixels per second, positive values grow the view
+	 * @return true, if view will expand
+	 */
+	public boolean expandWithVelocity(final float velocity) {
+		mPendingSpringVelocity = velocity;
+
+		final boolean result = expand(true, true);
+		mPendingSpringVelocity = Float.NaN;
+
+		return result;
+	}
+
+	/**
+	 * Collapses this view with a spring animation, which starts with the
+	 * given velocity, e.g. the velocity of a fling gesture. Has the same
+	 * effect as {@link #collapse()}, if spring animation is disabled.
+	 * 
+	 * @param velocity
+	 *            velocity in pixels per second, negative values shrink the
+	 *            view
+	 * @return true, if view will collapse
+	 */
+	public boolean collapseWithVelocity(final float velocity) {
+		mPendingSpringVelocity = velocity;
+
+		final boolean result = collapse(true, true);
+		mPendingSpringVelocity = Float.NaN;
+
+		return result;
+	}
+
+	/**
+	 * Switches the running animation to clipping. The layout size of this view
+	 * is set only once, to the larger of both sizes, and the animation only
+	 * changes the clipped region while drawing.
+	 * 
+	 * @param action
+	 *            the running action
+	 * @param currentSize
+	 *            the currently visible size
+	 */
+	private void startClipOnly(final int action, final int currentSize) {
+		mClipSize = currentSize;
+
+		if (action == JalousieListener.ACTION_EXPAND) {
+			setCurrentSize(mOriginalSize);
+		}
+	}
+
+	/**
+	 * Has to be called from the host's <code>dispatchDraw(Canvas)</code>
+	 * instead of its super implementation.
+	 */
+	public void dispatchDraw(Canvas canvas) {
+		if (BuildConfig.DEBUG && JalousieDebugOverlay.isEnabled()) {
+			final long start = System.nanoTime();
+			drawContent(canvas);
+
+			final JalousieDebugOverlay overlay = getDebugOverlay();
+			overlay.onDraw(System.nanoTime() - start);
+			overlay.draw(canvas, mView.getResources().getDisplayMetrics().density,
+					getDebugState());
+		} else {
+			drawContent(canvas);
+		}
+	}
+
+	private JalousieDebugOverlay getDebugOverlay() {
+		if (mDebugOverlay == null) {
+			mDebugOverlay = new JalousieDebugOverlay();
+		}
+
+		return mDebugOverlay;
+	}
+
+	/**
+	 * @return the state of this view, which is shown by the debug overlay
+	 */
+	private String getDebugState() {
+		if (mIsAnimating || mScrubbing) {
+			return "animating";
+		}
+
+		return (mIsExpanded || mIsAlwaysExpanded) ? "expanded" : "collapsed";
+	}
+
+	private void drawContent(final Canvas canvas) {
+		if (mSnapshot != null && mSnapshot.isRecycled()) {
+			// snapshot was evicted from the cache, continue with live views
+			mSnapshot = null;
+		}
+
+		if (mClipSize < 0 && mSnapshot == null) {
+			mHost.superDispatchDraw(canvas);
+			return;
+		}
+
+		final int saveCount = canvas.save();
+		if (mClipSize >= 0) {
+			if (mContentGravity == Jalousie.GRAVITY_HORIZONTAL) {
+				canvas.clipRect(0, 0, mClipSize, mView.getHeight());
+			} else {
+				canvas.clipRect(0, 0, mView.getWidth(), mClipSize);
+			}
+		}
+
+		mHost.superDispatchDraw(canvas);
+
+		if (mSnapshot != null) {
+			if (mContentGravity == Jalousie.GRAVITY_HORIZONTAL) {
+				canvas.drawBitmap(mSnapshot, mSnapshotOffset, 0, null);
+			} else {
+				canvas.drawBitmap(mSnapshot, 0, mSnapshotOffset, null);
+			}
+		}
+		canvas.restoreToCount(saveCount);
+	}
+
+	/**
+	 * Children, which lie entirely outside the currently visible extent of
+	 * this view, are not drawn at all. While a snapshot of the hidden content
+	 * is drawn, the live views of the hidden content are skipped, too.
+	 * 
+	 * Has to be called from the host's
+	 * <code>drawChild(Canvas, View, long)</code> instead of its super
+	 * implementation.
+	 */
+	public boolean drawChild(Canvas canvas, View child, long drawingTime) {
+		if (mHiddenScroll != 0 && isInHiddenSection(child, mVisibleContentSize)) {
+			return drawScrolledChild(canvas, child, drawingTime);
+		}
+
+		if (isInHiddenSection(child, getVisibleExtent())) {
+			return false;
+		}
+
+		if (mSnapshot != null && isInHiddenSection(child, mSnapshotOffset)) {
+			return false;
+		}
+
+		return mHost.superDrawChild(canvas, child, drawingTime);
+	}
+
+	/**
+	 * Draws a child of the scrolled hidden section shifted by the scroll
+	 * position and clipped to the region behind the visible content.
+	 * Children, which are scrolled out of this region, are not drawn at all.
+	 */
+	private boolean drawScrolledChild(final Canvas canvas, final View child,
+			final long drawingTime) {
+		final boolean horizontal = (mContentGravity == Jalousie.GRAVITY_HORIZONTAL);
+		final int start = (horizontal ? child.getLeft() : child.getTop())
+				- mHiddenScroll;
+		final int end = (horizontal ? child.getRight() : child.getBottom())
+				- mHiddenScroll;
+		final int extent = getVisibleExtent();
+
+		if (end <= mVisibleContentSize || start >= extent) {
+			return false;
+		}
+
+		final int saveCount = canvas.save();
+		if (horizontal) {
+			canvas.clipRect(mVisibleContentSize, 0, extent, mView.getHeight());
+			canvas.translate(-mHiddenScroll, 0);
+		} else {
+			canvas.clipRect(0, mVisibleContentSize, mView.getWidth(), extent);
+			canvas.translate(0, -mHiddenScroll);
+		}
+
+		final boolean more = mHost.superDrawChild(canvas, child, drawingTime);
+		canvas.restoreToCount(saveCount);
+
+		return more;
+	}
+
+	/**
+	 * Stops invalidations of children, which lie entirely outside the visible
+	 * extent of this collapsed view, e.g. of a spinner within the hidden
+	 * content, so that they do not lead to redrawing of this view and its
+	 * parents.
+	 * 
+	 * Has to be called from the host's
+	 * <code>invalidateChildInParent(int[], Rect)</code>. If this method
+	 * returns true, the host has to return <code>null</code>, otherwise the
+	 * result of its super implementation.
+	 * 
+	 * Notice, that on hardware accelerated windows, the framework does not
+	 * propagate invalidations through this method, so only the culling in
+	 * {@link #drawChild(Canvas, View, long)} applies there.
+	 * 
+	 * @param location
+	 *            position of the invalidated child within this view
+	 * @param dirty
+	 *            the dirty region in coordinates of the child
+	 * @return true, if the invalidation must not be propagated
+	 */
+	public boolean isInvalidationCulled(final int[] location, final Rect dirty) {
+		if (mIsAnimating || mScrubbing || mIsExpanded || mIsAlwaysExpanded) {
+			return false;
+		}
+
+		if (mContentGravity == Jalousie.GRAVITY_HORIZONTAL) {
+			return location[0] + dirty.left >= mView.getScrollX()
+					+ getVisibleExtent();
+		}
+
+		return location[1] + dirty.top >= mView.getScrollY()
+				+ getVisibleExtent();
+	}
+
+	/**
+	 * Shifts the position of an invalidated child of the scrolled hidden
+	 * section by the scroll position, so that the region is invalidated,
+	 * where the child is drawn.
+	 * 
+	 * Has to be called from the host's
+	 * <code>invalidateChildInParent(int[], Rect)</code> right before its
+	 * super implementation.
+	 * 
+	 * @param location
+	 *            position of the invalidated child within this view
+	 */
+	public void offsetInvalidation(final int[] location) {
+		if (mHiddenScroll == 0) {
+			return;
+		}
+
+		final int index = (mContentGravity == Jalousie.GRAVITY_HORIZONTAL) ? 0
+				: 1;
+		if (location[index] >= mVisibleContentSize) {
+			location[index] -= mHiddenScroll;
+		}
+	}
+
+	/**
+	 * Returns the size of the region of this view, which is currently
+	 * visible, in direction of the content gravity.
+	 */
+	private int getVisibleExtent() {
+		if (mClipSize >= 0) {
+			return mClipSize;
+		}
+
+		return (mContentGravity == Jalousie.GRAVITY_HORIZONTAL) ? mView
+				.getWidth() : mView.getHeight();
+	}
+
+	/**
+	 * Checks whether the given child is placed behind the given offset, i.e.
+	 * the position of the separator.
+	 */
+	private boolean isInHiddenSection(final View child, final int offset) {
+		if (mContentGravity == Jalousie.GRAVITY_HORIZONTAL) {
+			return child.getLeft() >= offset;
+		}
+
+		return child.getTop() >= offset;
+	}
+
+	/**
+	 * Takes the snapshot of the hidden content, which is drawn instead of the
+	 * live views during the following animation. A cached snapshot is reused,
+	 * if the size of the hidden content did not change.
+	 */
+	private void prepareSnapshot() {
+		if (!hasBoundary() && mCollapsedSize < 0) {
+			return;
+		}
+
+		// the visible content size was updated right before the action started
+		final int offset = mVisibleContentSize;
+		final int width;
+		final int height;
+		if (mContentGravity == Jalousie.GRAVITY_HORIZONTAL) {
+			width = mOriginalSize - offset;
+			height = mView.getHeight();
+		} else {
+			width = mView.getWidth();
+			height = mOriginalSize - offset;
+		}
+
+		if (width <= 0 || height <= 0) {
+			return;
+		}
+
+		if (mSnapshotKey == null) {
+			mSnapshotKey = new Object();
+		}
+
+		Bitmap snapshot = SnapshotCache.get(mSnapshotKey, width, height);
+		if (snapshot == null) {
+			try {
+				snapshot = Bitmap.createBitmap(width, height,
+						Bitmap.Config.ARGB_8888);
+			} catch (OutOfMemoryError e) {
+				Log.w(TAG, "[prepareSnapshot] not enough memory for snapshot");
+				return;
+			}
+
+			final Canvas canvas = new Canvas(snapshot);
+			if (mContentGravity == Jalousie.GRAVITY_HORIZONTAL) {
+				canvas.translate(-offset, 0);
+			} else {
+				canvas.translate(0, -offset);
+			}
+
+			final int childCount = mView.getChildCount();
+			View child;
+			for (int i = 0; i < childCount; i++) {
+				child = mView.getChildAt(i);
+
+				if (child.getVisibility() != View.VISIBLE
+						|| !isInHiddenSection(child, offset)) {
+					continue;
+				}
+
+				final int saveCount = canvas.save();
+				canvas.translate(child.getLeft() - child.getScrollX(),
+						child.getTop() - child.getScrollY());
+				child.draw(canvas);
+				canvas.restoreToCount(saveCount);
+			}
+
+			mSnapshotCached = SnapshotCache.put(mSnapshotKey, snapshot);
+		} else {
+			mSnapshotCached = true;
+		}
+
+		Log.v(TAG, "[prepareSnapshot] offset=" + offset + ", cached="
+				+ mSnapshotCached);
+
+		mSnapshot = snapshot;
+		mSnapshotOffset = offset;
+	}
+
+	/**
+	 * Swaps the live views of the hidden content back in.
+	 */
+	private void releaseSnapshot() {
+		if (mSnapshot == null) {
+			return;
+		}
+
+		if (mSnapshotCached) {
+			SnapshotCache.release(mSnapshotKey);
+		} else {
+			mSnapshot.recycle();
+		}
+
+		mSnapshot = null;
+		mView.invalidate();
+	}
+
+	/**
+	 * Drops the cached snapshot of the hidden content. This is done
+	 * automatically, when this view is laid out after an action. Call this
+	 * method, if the hidden content changes its appearance during an action.
+	 * 
+	 * @see #setSnapshotAnimation(boolean)
+	 */
+	public void invalidateSnapshot() {
+		if (mSnapshotKey == null) {
+			return;
+		}
+
+		if (mSnapshot != null && mSnapshotCached) {
+			// the snapshot is still drawn, so it must not be recycled now,
+			// this is done in releaseSnapshot()
+			SnapshotCache.take(mSnapshotKey);
+			mSnapshotCached = false;
+		} else {
+			SnapshotCache.remove(mSnapshotKey);
+		}
+	}
+
+	/**
+	 * Returns the range, by which the hidden section can be scrolled.
+	 */
+	private int getMaxHiddenScroll() {
+		return Math.max(0, mContentSize - mOriginalSize);
+	}
+
+	/**
+	 * Scrolls the hidden section of a capped expanded view to the given
+	 * position, which is limited to the scroll range.
+	 * 
+	 * @param position
+	 *            scroll position in pixels
+	 * @see #setMaxExpandedSize(int)
+	 */
+	public void scrollHiddenSectionTo(final int position) {
+		stopFling();
+		setHiddenScroll(position);
+	}
+
+	private void setHiddenScroll(final int position) {
+		final int scroll = Math.max(0, Math.min(position, getMaxHiddenScroll()));
+
+		if (scroll != mHiddenScroll) {
+			mHiddenScroll = scroll;
+			mView.invalidate();
+		}
+	}
+
+	public int getHiddenSectionScroll() {
+		return mHiddenScroll;
+	}
+
+	/**
+	 * Returns the raw position of the given touch event in direction of the
+	 * content gravity. Raw positions are not affected by the offset applied
+	 * in {@link #beforeDispatchTouchEvent(MotionEvent)}.
+	 */
+	private float getRawTouchPosition(final MotionEvent ev) {
+		return (mContentGravity == Jalousie.GRAVITY_HORIZONTAL) ? ev.getRawX()
+				: ev.getRawY();
+	}
+
+	/**
+	 * Shifts touch events of a gesture, which started within the scrolled
+	 * hidden section, by the scroll position, so that they reach the child,
+	 * which is drawn at the touched position.
+	 * 
+	 * Has to be called from the host's
+	 * <code>dispatchTouchEvent(MotionEvent)</code> right before its super
+	 * implementation, followed by {@link #afterDispatchTouchEvent(MotionEvent)}
+	 * right after it.
+	 * 
+	 * @param ev
+	 */
+	public void beforeDispatchTouchEvent(final MotionEvent ev) {
+		if (ev.getAction() == MotionEvent.ACTION_DOWN) {
+			final float position = (mContentGravity == Jalousie.GRAVITY_HORIZONTAL) ? ev
+					.getX() : ev.getY();
+
+			mTouchInHiddenSection = getMaxHiddenScroll() > 0 && !mIsAnimating
+					&& !mSpringRunning && position >= mVisibleContentSize;
+		}
+
+		if (!mTouchInHiddenSection || mIsBeingDragged || mHiddenScroll == 0) {
+			mAppliedTouchOffset = 0;
+			return;
+		}
+
+		mAppliedTouchOffset = mHiddenScroll;
+		if (mContentGravity == Jalousie.GRAVITY_HORIZONTAL) {
+			ev.offsetLocation(mAppliedTouchOffset, 0);
+		} else {
+			ev.offsetLocation(0, mAppliedTouchOffset);
+		}
+	}
+
+	/**
+	 * Reverts the offset applied in {@link #beforeDispatchTouchEvent(MotionEvent)}.
+	 * 
+	 * @param ev
+	 */
+	public void afterDispatchTouchEvent(final MotionEvent ev) {
+		if (mAppliedTouchOffset != 0) {
+			if (mContentGravity == Jalousie.GRAVITY_HORIZONTAL) {
+				ev.offsetLocation(-mAppliedTouchOffset, 0);
+			} else {
+				ev.offsetLocation(0, -mAppliedTouchOffset);
+			}
+
+			mAppliedTouchOffset = 0;
+		}
+
+		final int action = ev.getAction();
+		if (action == MotionEvent.ACTION_UP
+				|| action == MotionEvent.ACTION_CANCEL) {
+			mTouchInHiddenSection = false;
+		}
+	}
+
+	/**
+	 * Intercepts drag gestures within the scrollable hidden section of a
+	 * capped expanded view.
+	 * 
+	 * Has to be called from the host's
+	 * <code>onInterceptTouchEvent(MotionEvent)</code>. If this method returns
+	 * true, the host has to return true, too.
+	 * 
+	 * @param ev
+	 * @return true, if the gesture scrolls the hidden section
+	 */
+	public boolean onInterceptTouchEvent(final MotionEvent ev) {
+		if (!mTouchInHiddenSection) {
+			return false;
+		}
+
+		switch (ev.getAction()) {
+		case MotionEvent.ACTION_DOWN:
+			mDownTouchPosition = getRawTouchPosition(ev);
+			mLastTouchPosition = mDownTouchPosition;
+
+			// the hidden section consumes the gesture, so that an enclosing
+			// scroll container does not steal it
+			final ViewParent parent = mView.getParent();
+			if (parent != null) {
+				parent.requestDisallowInterceptTouchEvent(true);
+			}
+
+			// a touch stops a running fling and continues it as drag
+			mIsBeingDragged = mScroller != null && !mScroller.isFinished();
+			stopFling();
+			break;
+
+		case MotionEvent.ACTION_MOVE:
+			startDragIfBeyondSlop(ev);
+			break;
+
+		case MotionEvent.ACTION_UP:
+		case MotionEvent.ACTION_CANCEL:
+			mIsBeingDragged = false;
+			break;
+
+		default:
+			break;
+		}
+
+		return mIsBeingDragged;
+	}
+
+	/**
+	 * Scrolls the hidden section of a capped expanded view by drag and fling
+	 * gestures.
+	 * 
+	 * Has to be called from the host's <code>onTouchEvent(MotionEvent)</code>.
+	 * If this method returns true, the host has to return true, too.
+	 * 
+	 * @param ev
+	 * @return true, if the event was consumed
+	 */
+	public boolean onTouchEvent(final MotionEvent ev) {
+		if (!mTouchInHiddenSection) {
+			return false;
+		}
+
+		switch (ev.getAction()) {
+		case MotionEvent.ACTION_DOWN:
+			// no child consumed the touch down, the gesture is ours
+			mDownTouchPosition = getRawTouchPosition(ev);
+			mLastTouchPosition = mDownTouchPosition;
+			return true;
+
+		case MotionEvent.ACTION_MOVE:
+			if (!mIsBeingDragged) {
+				startDragIfBeyondSlop(ev);
+			}
+
+			if (mIsBeingDragged) {
+				trackVelocity(ev);
+
+				final float position = getRawTouchPosition(ev);
+				final int delta = (int) (mLastTouchPosition - position);
+				if (delta != 0) {
+					// keep the fraction of the pixel for the next move
+					mLastTouchPosition -= delta;
+					setHiddenScroll(mHiddenScroll + delta);
+				}
+			}
+			return true;
+
+		case MotionEvent.ACTION_UP:
+			if (mIsBeingDragged) {
+				trackVelocity(ev);
+				fling();
+			}
+			// fall through
+
+		case MotionEvent.ACTION_CANCEL:
+			mIsBeingDragged = false;
+
+			if (mVelocityTracker != null) {
+				mVelocityTracker.clear();
+			}
+			return true;
+
+		default:
+			return true;
+		}
+	}
+
+	/**
+	 * Starts the drag of the hidden section, if the touch moved beyond the
+	 * touch slop since the touch down.
+	 */
+	private void startDragIfBeyondSlop(final MotionEvent ev) {
+		final float position = getRawTouchPosition(ev);
+
+		if (Math.abs(position - mDownTouchPosition) > ViewConfiguration.get(
+				mView.getContext()).getScaledTouchSlop()) {
+			mIsBeingDragged = true;
+			mLastTouchPosition = position;
+
+			if (mVelocityTracker != null) {
+				mVelocityTracker.clear();
+			}
+		}
+	}
+
+	/**
+	 * Adds the given event to the velocity tracker without the offset, which
+	 * may have been applied for the children.
+	 */
+	private void trackVelocity(final MotionEvent ev) {
+		if (mVelocityTracker == null) {
+			mVelocityTracker = VelocityTracker.obtain();
+		}
+
+		if (mContentGravity == Jalousie.GRAVITY_HORIZONTAL) {
+			ev.offsetLocation(-mAppliedTouchOffset, 0);
+			mVelocityTracker.addMovement(ev);
+			ev.offsetLocation(mAppliedTouchOffset, 0);
+		} else {
+			ev.offsetLocation(0, -mAppliedTouchOffset);
+			mVelocityTracker.addMovement(ev);
+			ev.offsetLocation(0, mAppliedTouchOffset);
+		}
+	}
+
+	/**
+	 * Continues a drag of the hidden section with a fling, if the drag was
+	 * fast enough.
+	 */
+	private void fling() {
+		final ViewConfiguration configuration = ViewConfiguration.get(mView
+				.getContext());
+
+		mVelocityTracker.computeCurrentVelocity(1000,
+				configuration.getScaledMaximumFlingVelocity());
+		final int velocity = (int) ((mContentGravity == Jalousie.GRAVITY_HORIZONTAL) ? mVelocityTracker
+				.getXVelocity() : mVelocityTracker.getYVelocity());
+
+		if (Math.abs(velocity) <= configuration.getScaledMinimumFlingVelocity()) {
+			return;
+		}
+
+		if (mScroller == null) {
+			mScroller = new Scroller(mView.getContext());
+		}
+
+		// the scroller works on a single axis only, the other one is unused
+		mScroller.fling(0, mHiddenScroll, 0, -velocity, 0, 0, 0,
+				getMaxHiddenScroll());
+
+		FrameScheduler.getInstance().postFrameCallback(mFlingFrameCallback);
+	}
+
+	private void stopFling() {
+		if (mScroller != null && !mScroller.isFinished()) {
+			mScroller.abortAnimation();
+			FrameScheduler.getInstance().removeFrameCallback(
+					mFlingFrameCallback);
+		}
+	}
+
+	/**
+	 * Applies the position of a running fling on each frame.
+	 */
+	private final FrameScheduler.FrameCallback mFlingFrameCallback = new FrameScheduler.FrameCallback() {
+
+		@Override
+		public void doFrame(final long frameTime) {
+			if (!mScroller.computeScrollOffset()) {
+				return;
+			}
+
+			setHiddenScroll(mScroller.getCurrY());
+
+			if (!mScroller.isFinished()) {
+				FrameScheduler.getInstance().postFrameCallback(this);
+			}
+		}
+	};
+
+	/**
+	 * Sets the current width or height of this view, depending on the content
+	 * gravity.
+	 * 
+	 * @param size
+	 */
+	private void setCurrentSize(final int size) {
+		if (mContentGravity == Jalousie.GRAVITY_HORIZONTAL) {
+			setCurrentWidth(size);
+		} else {
+			setCurrentHeight(size);
+		}
+	}
+
+	/**
+	 * Brings this view into the end state of the given action within a single
+	 * layout pass and without creating an animator. Listeners are notified
+	 * the same way as for an animated action.
+	 * 
+	 * @param action
+	 *            either {@link JalousieListener#ACTION_EXPAND} or
+	 *            {@link JalousieListener#ACTION_COLLAPSE}
+	 * @param targetSize
+	 *            size of this view at the end of the action
+	 */
+	private void applyActionImmediately(final int action, final int targetSize) {
+		Log.v(TAG, "[applyActionImmediately] action=" + action
+				+ ", targetSize=" + targetSize);
+
+		mIsAnimating = false;
+		mCurrentAnimator = null;
+		mAnimationType = 0;
+
+		notifiyOnAnimationStart(action, 0);
+
+		mClipSize = -1;
+		releaseSnapshot();
+		setCurrentSize(targetSize);
+
+		mIsExpanded = (action == JalousieListener.ACTION_EXPAND);
+
+		notifiyOnAnimationEnd(action);
+	}
+
+	@Override
+	public boolean setExpansionFraction(float fraction) {
+		if (!isScrubbable()) {
+			return false;
+		}
+
+		fraction = Math.max(0f, Math.min(1f, fraction));
+
+		if (!mScrubbing) {
+			final float currentFraction = getExpansionFraction();
+
+			if (!mIsAnimating && fraction == currentFraction) {
+				// already at rest in the requested state
+				return true;
+			}
+
+			if (!startScrubbing((fraction < currentFraction) ? JalousieListener.ACTION_COLLAPSE
+					: JalousieListener.ACTION_EXPAND)) {
+				return false;
+			}
+		}
+
+		scrubTo(mVisibleContentSize
+				+ Math.round((mOriginalSize - mVisibleContentSize) * fraction));
+
+		return true;
+	}
+
+	@Override
+	public float getExpansionFraction() {
+		if (mScrubbing) {
+			return mScrubFraction;
+		}
+
+		if (mIsAnimating) {
+			return toExpansionFraction(getCurrentExtent());
+		}
+
+		return (mIsExpanded || mIsAlwaysExpanded) ? 1f : 0f;
+	}
+
+	/**
+	 * Applies the scroll delta of a scroll container, if scroll-linked
+	 * collapse is enabled. Scrolling towards the end of the content collapses
+	 * this view, scrolling back expands it. The size is changed right away,
+	 * without any animator. When no delta arrives for
+	 * {@value #SCROLL_SETTLE_DELAY} ms, this view snaps to the nearest state.
+	 * 
+	 * Within a ScrollView (or a HorizontalScrollView for horizontal content
+	 * gravity), the deltas are tracked automatically and the container is
+	 * scrolled back by the consumed part of each delta. Position changes,
+	 * which the container makes only because its scroll range shrank, are
+	 * ignored. Call this method only for other containers, e.g. from their
+	 * scroll callbacks. Whether negative deltas are passed always or only
+	 * when the container is scrolled to its start, is up to the caller.
+	 * 
+	 * @param delta
+	 *            difference of the container's scroll position in pixels
+	 * @return the part of the delta, by which the size of this view changed.
+	 *         A caller, whose container already scrolled by the whole delta,
+	 *         should scroll it back by this value.
+	 * @see #setScrollLinked(boolean)
+	 * @see #onScrollStopped()
+	 */
+	public int consumeScrollDelta(final int delta) {
+		if (!mSpec.isScrollLinked() || delta == 0 || !isScrubbable()) {
+			return 0;
+		}
+
+		final int currentSize = getCurrentExtent();
+
+		if (!mScrubbing) {
+			final int action = (delta > 0) ? JalousieListener.ACTION_COLLAPSE
+					: JalousieListener.ACTION_EXPAND;
+
+			if (!mIsAnimating
+					&& mIsExpanded == (action == JalousieListener.ACTION_EXPAND)) {
+				// nothing left to collapse or to expand
+				return 0;
+			}
+
+			if (!startScrubbing(action)) {
+				return 0;
+			}
+		}
+
+		final int size = Math.max(mVisibleContentSize,
+				Math.min(mOriginalSize, currentSize - delta));
+		scrubTo(size);
+
+		mView.removeCallbacks(mScrollSettleRunnable);
+		if (mScrubbing) {
+			mView.postDelayed(mScrollSettleRunnable, SCROLL_SETTLE_DELAY);
+		}
+
+		return currentSize - size;
+	}
+
+	/**
+	 * Snaps this view to the nearest state right away, if it was left in
+	 * between by {@link #consumeScrollDelta(int)}. Call this method, if the
+	 * scroll container knows, that scrolling stopped, e.g. on touch up
+	 * without fling.
+	 */
+	public void onScrollStopped() {
+		mView.removeCallbacks(mScrollSettleRunnable);
+		mScrollSettleRunnable.run();
+	}
+
+	/**
+	 * Snaps a view, which was left in between by scrolling, to the nearest
+	 * state.
+	 */
+	private final Runnable mScrollSettleRunnable = new Runnable() {
+
+		@Override
+		public void run() {
+			if (!mScrubbing) {
+				return;
+			}
+
+			if (mScrubFraction >= 0.5f) {
+				expand();
+			} else {
+				collapse();
+			}
+		}
+	};
+
+	private boolean isScrubbable() {
+		return mIsExpandable && !mIsAlwaysExpanded && !mIsAlwaysCollapsed;
+	}
+
+	/**
+	 * Starts scrubbing with the given action. Running animations are
+	 * stopped and listeners are notified the same way as for an animated
+	 * action.
+	 * 
+	 * @return false, if a listener prevented the action
+	 */
+	private boolean startScrubbing(final int action) {
+		if (!mActionApproved && notifyOnBeforeActionStart(action, false)) {
+			return false;
+		}
+
+		updateVisibleContentSize();
+		ensureHiddenSectionMeasured();
+
+		if (mCurrentAnimator != null && mCurrentAnimator.isRunning()) {
+			mCurrentAnimator.cancel();
+		}
+		cancelContentSizeAdjustment();
+		stopSpring();
+
+		mClipSize = -1;
+		releaseSnapshot();
+
+		mScrubbing = true;
+		mScrubAction = action;
+
+		notifiyOnAnimationStart(action, 0);
+
+		return true;
+	}
+
+	/**
+	 * Applies the given size while scrubbing. If the collapsed or the
+	 * expanded size is reached, scrubbing ends like an action.
+	 */
+	private void scrubTo(final int size) {
+		mScrubSize = size;
+		mScrubFraction = toExpansionFraction(size);
+		setCurrentSize(size);
+
+		if (BuildConfig.DEBUG && JalousieDebugOverlay.isEnabled()) {
+			getDebugOverlay().onFrame(0);
+		}
+
+		notifyOnActionProgress(mScrubAction, size);
+
+		if (size > mVisibleContentSize && size < mOriginalSize) {
+			return;
+		}
+
+		final int action = (size >= mOriginalSize) ? JalousieListener.ACTION_EXPAND
+				: JalousieListener.ACTION_COLLAPSE;
+
+		mScrubbing = false;
+		mIsExpanded = (action == JalousieListener.ACTION_EXPAND);
+
+		if (action != mScrubAction) {
+			// the direction was reversed, report it the same way as a
+			// reversed spring
+			notifiyOnAnimationEnd(mScrubAction);
+			notifiyOnAnimationStart(action, 0);
+		}
+
+		notifiyOnAnimationEnd(action);
+	}
+
+	/**
+	 * Returns the current size of this view in direction of the content
+	 * gravity, as it was set last by an action.
+	 */
+	private int getCurrentExtent() {
+		if (mScrubbing) {
+			return mScrubSize;
+		}
+
+		if (mIsAnimating) {
+			if (mClipSize >= 0) {
+				return mClipSize;
+			}
+
+			return (mContentGravity == Jalousie.GRAVITY_HORIZONTAL) ? getCurrentWidth()
+					: getCurrentHeight();
+		}
+
+		return (mIsExpanded || mIsAlwaysExpanded) ? mOriginalSize
+				: mVisibleContentSize;
+	}
+
+	/**
+	 * Ends scrubbing, if an action takes over. Listeners are notified the
+	 * same way as for a cancelled animator.
+	 */
+	private void stopScrubbing() {
+		if (!mScrubbing) {
+			return;
+		}
+
+		mScrubbing = false;
+		mIsExpanded = (mScrubAction == JalousieListener.ACTION_EXPAND);
+
+		notifiyOnAnimationEnd(mScrubAction);
+	}
+
+	/**
+	 * Maps the given size onto the range between collapsed and expanded
+	 * size.
+	 * 
+	 * @return the expansion fraction between 0 and 1
+	 */
+	private float toExpansionFraction(final int size) {
+		final int range = mOriginalSize - mVisibleContentSize;
+
+		if (range <= 0) {
+			return mIsExpanded ? 1f : 0f;
+		}
+
+		return Math.max(0f,
+				Math.min(1f, (size - mVisibleContentSize) / (float) range));
+	}
+
+	/**
+	 * Checks whether an animation would be visible at all. Animations can be
+	 * turned off for this view, for the whole app through
+	 * {@link AnimationSettings#setReducedMotion(boolean)} or by the user
+	 * through the device's animator duration scale.
+	 * 
+	 * @return true, if a state change should be animated
+	 */
+	private boolean isAnimationEffective() {
+		return mSpec.isAnimationEnabled() && !AnimationSettings.isReducedMotion()
+				&& getEffectiveAnimationDuration() > 0;
+	}
+
+	/**
+	 * Returns the animation duration scaled by the device's animator duration
+	 * scale.
+	 * 
+	 * @return duration of an animation in ms
+	 */
+	private int getEffectiveAnimationDuration() {
+		return (int) (mSpec.getAnimationDuration() * mDurationScale);
+	}
+
+	/**
+	 * Checks whether any part of this view can be seen by the user. This is
+	 * not the case, if this view is not attached to a window, if it or one of
+	 * its parents is not visible or if it is scrolled out of the visible
+	 * window region.
+	 * 
+	 * @return true, if this view is at least partly visible on screen
+	 */
+	private boolean isVisibleOnScreen() {
+		return isVisibleOnScreen(mView, mTempRect);
+	}
+
+	/**
+	 * @param view
+	 *            the view to check
+	 * @param tempRect
+	 *            a reusable rect, whose content is overwritten
+	 * @return true, if the given view is at least partly visible on screen
+	 * @see #isVisibleOnScreen()
+	 */
+	static boolean isVisibleOnScreen(final View view, final Rect tempRect) {
+		return isVisibleOnScreen(view, tempRect, 0);
+	}
+
+	/**
+	 * @param view
+	 *            the view to check
+	 * @param tempRect
+	 *            a reusable rect, whose content is overwritten
+	 * @param distance
+	 *            distance in pixels, by which the view may be outside of the
+	 *            visible area
+	 * @return true, if the given view is at least partly visible on screen or
+	 *         within the given distance of the visible area
+	 */
+	static boolean isVisibleOnScreen(final View view, final Rect tempRect,
+			final int distance) {
+		if (view.getWindowToken() == null || !view.isShown()) {
+			return false;
+		}
+
+		final ViewParent parent = view.getParent();
+		if (parent == null) {
+			return false;
+		}
+
+		// a collapsed jalousie may have an extent of zero, which would never
+		// intersect anything, so check at least one pixel of it
+		tempRect.set(-distance, -distance, Math.max(view.getWidth(), 1)
+				+ distance, Math.max(view.getHeight(), 1) + distance);
+
+		return parent.getChildVisibleRect(view, tempRect, null);
+	}
+
+	/**
+	 * Switches the state of this view. In detail, it expands the view, if the
+	 * view is collapsed or an animation is currently running to collapse this
+	 * view. If the view is expanded, the view will be collapsed.
+	 * 
+	 * @see #expand()
+	 * @see #collapse()
+	 */
+	@Override
+	public boolean toggle() {
+		Log.v(TAG, "[toggle]");
+
+		return toggle(true, false);
+	}
+
+	@Override
+	public boolean toggle(boolean animated) {
+		Log.v(TAG, "[toggle] animated=" + animated);
+
+		return toggle(animated, false);
+	}
+
+	/**
+	 * @param animated
+	 * @param fromTouch
+	 *            true, if the toggle is requested by the user
+	 * @return true, if view was expanded or collapsed
+	 */
+	public boolean toggle(boolean animated, boolean fromTouch) {
+		Log.v(TAG, "[toggle] animated=" + animated + ", fromTouch=" + fromTouch);
+
+		if (mIsAlwaysExpanded) {
+			return false;
+		}
+
+		if (mExpansionDeferred
+				|| (mIsAnimating && mAnimationType == ANIMATION_TYPE_EXPAND)
+				|| (!mIsAnimating && mIsExpanded)) {
+			return collapse(animated, fromTouch);
+		} else {
+			return expand(animated, fromTouch);
+		}
+	}
+
+	@Override
+	public boolean isExpanded() {
+		return mIsExpanded;
+	}
+
+	@Override
+	public boolean isCollapsed() {
+		return !mIsExpanded;
+	}
+
+	@Override
+	public boolean isExpandable() {
+		return mIsExpandable;
+	}
+
+	@Override
+	public void setIsAlwaysExpanded(final boolean alwaysExpanded) {
+		mIsAlwaysExpanded = alwaysExpanded;
+
+		if (mIsAlwaysExpanded && !mIsExpanded) {
+			if (!expand(false)) {
+				mIsExpanded = true;
+			}
+		} else if (!mIsAlwaysExpanded && mIsExpanded) {
+			if (!collapse(false)) {
+				mIsExpanded = false;
+			}
+		}
+	}
+
+	@Override
+	public void setIsAlwaysCollapsed(final boolean alwaysCollapsed) {
+		mIsAlwaysCollapsed = alwaysCollapsed;
+
+		if (mIsAlwaysCollapsed && mIsExpanded) {
+			collapse(false);
+		}
+	}
+
+	@Override
+	public void setAnimationEnabled(final boolean animationEnabled) {
+		if (mSpec.isAnimationEnabled() != animationEnabled) {
+			mSpec = mSpec.buildUpon().setAnimationEnabled(animationEnabled)
+					.build();
+		}
+	}
+
+	@Override
+	public void setAnimationDuration(final int animationDuration) {
+		if (mSpec.getAnimationDuration() != animationDuration) {
+			mSpec = mSpec.buildUpon().setAnimationDuration(animationDuration)
+					.build();
+		}
+	}
+
+	@Override
+	public void setInterpolator(final Interpolator interpolator) {
+		if (mSpec.getInterpolator() != interpolator) {
+			mSpec = mSpec.buildUpon().setInterpolator(interpolator).build();
+		}
+	}
+
+	/**
+	 * Sets the configuration of this view. A spec is immutable, so the same
+	 * instance can be set on any number of jalousies, e.g. on all rows of a
+	 * list, which then do not hold any configuration of their own. Changing a
+	 * single option afterwards, e.g. through
+	 * {@link #setAnimationDuration(int)}, derives a new spec for this view
+	 * only.
+	 * 
+	 * A running animation keeps its duration and interpolator, the new spec
+	 * is used from the next expand or collapse on.
+	 * 
+	 * @param spec
+	 *            the spec, must not be <code>null</code>
+	 */
+	public void setJalousieSpec(final JalousieSpec spec) {
+		if (spec == null) {
+			throw new IllegalArgumentException("spec must not be null");
+		}
+
+		final boolean snapshotAnimation = mSpec.isSnapshotAnimation();
+
+		mSpec = spec;
+
+		if (snapshotAnimation && !spec.isSnapshotAnimation()) {
+			invalidateSnapshot();
+		}
+
+		updateScrollLinkObserver();
+	}
+
+	public JalousieSpec getJalousieSpec() {
+		return mSpec;
+	}
+
+	/**
+	 * If enabled, expand and collapse are driven by a spring instead of an
+	 * animator with fixed duration and interpolator. A spring keeps its
+	 * velocity, if it is reversed mid-flight, and it can be started with the
+	 * velocity of a gesture, see {@link #expandWithVelocity(float)}. The
+	 * animation duration and the interpolator are ignored then.
+	 * 
+	 * @param springAnimation
+	 */
+	public void setSpringAnimation(final boolean springAnimation) {
+		if (mSpec.isSpringAnimation() != springAnimation) {
+			mSpec = mSpec.buildUpon().setSpringAnimation(springAnimation)
+					.build();
+		}
+	}
+
+	public boolean isSpringAnimation() {
+		return mSpec.isSpringAnimation();
+	}
+
+	/**
+	 * Configures the spring of spring animations.
+	 * 
+	 * @param stiffness
+	 *            default is {@value Spring#DEFAULT_STIFFNESS}
+	 * @param dampingRatio
+	 *            default is {@value Spring#DEFAULT_DAMPING_RATIO}, must be >=
+	 *            {@value Spring#MIN_DAMPING_RATIO}
+	 * @see #setSpringAnimation(boolean)
+	 */
+	public void setSpringConfiguration(final float stiffness,
+			final float dampingRatio) {
+		mSpec = mSpec.buildUpon()
+				.setSpringConfiguration(stiffness, dampingRatio).build();
+
+		if (mSpring != null) {
+			mSpring.setConfiguration(stiffness, dampingRatio);
+		}
+	}
+
+	/**
+	 * Sets a fixed size of the visible content, i.e. the size of the view in
+	 * collapsed state. This is used instead of the separator's position, e.g.
+	 * by hosts, which draw their visible content themselves.
+	 * 
+	 * @param collapsedSize
+	 *            size in pixels or -1 to use the separator again
+	 */
+	public void setCollapsedSize(final int collapsedSize) {
+		if (mCollapsedSize == collapsedSize) {
+			return;
+		}
+
+		mCollapsedSize = collapsedSize;
+
+		if (!mView.isLayoutRequested()) {
+			mView.requestLayout();
+		}
+	}
+
+	public int getCollapsedSize() {
+		return mCollapsedSize;
+	}
+
+	/**
+	 * Sets a fixed size of the whole content, i.e. the size of the view in
+	 * expanded state, which is used instead of the measured size.
+	 * 
+	 * If both, the collapsed and the expanded size, are declared and the
+	 * children are stacked, only the children in front of the separator are
+	 * measured while this view is collapsed. The hidden children are measured
+	 * not before an expansion starts. If only the collapsed size is declared,
+	 * the hidden children are measured right before the expansion starts.
+	 * 
+	 * @param expandedSize
+	 *            size in pixels or -1 to use the measured size again
+	 * @see #setCollapsedSize(int)
+	 */
+	public void setExpandedSize(final int expandedSize) {
+		if (mExpandedSize == expandedSize) {
+			return;
+		}
+
+		mExpandedSize = expandedSize;
+
+		if (!mView.isLayoutRequested()) {
+			mView.requestLayout();
+		}
+	}
+
+	public int getExpandedSize() {
+		return mExpandedSize;
+	}
+
+	/**
+	 * Limits the size of this view in expanded state. If the content is
+	 * larger, this view expands only up to the given size and the hidden
+	 * section scrolls within it, so that neither the expand animation nor
+	 * drawing has to cover the whole content. The children are still laid
+	 * out completely.
+	 * 
+	 * The hosts have to forward their touch events, see
+	 * {@link #beforeDispatchTouchEvent(MotionEvent)},
+	 * {@link #onInterceptTouchEvent(MotionEvent)} and
+	 * {@link #onTouchEvent(MotionEvent)}.
+	 * 
+	 * @param maxExpandedSize
+	 *            size in pixels, which is never less than the visible content
+	 *            size, or -1 to expand to the whole content again
+	 */
+	public void setMaxExpandedSize(final int maxExpandedSize) {
+		if (mMaxExpandedSize == maxExpandedSize) {
+			return;
+		}
+
+		mMaxExpandedSize = maxExpandedSize;
+
+		if (!mView.isLayoutRequested()) {
+			mView.requestLayout();
+		}
+	}
+
+	public int getMaxExpandedSize() {
+		return mMaxExpandedSize;
+	}
+
+	/**
+	 * Declares the first children up to the given count as visible content
+	 * and all following children as hidden content. This replaces a
+	 * {@link Separator} view, so the layout needs one child less and the
+	 * boundary does not have to be searched during measure.
+	 * 
+	 * @param collapsedChildCount
+	 *            number of visible children or -1 to use the separator again
+	 */
+	public void setCollapsedChildCount(final int collapsedChildCount) {
+		if (mCollapsedChildCount == collapsedChildCount) {
+			return;
+		}
+
+		mCollapsedChildCount = collapsedChildCount;
+
+		forceRelayout();
+		mView.requestLayout();
+	}
+
+	public int getCollapsedChildCount() {
+		return mCollapsedChildCount;
+	}
+
+	/**
+	 * Sets a loader, which adds the hidden content on demand. An expand,
+	 * which finds the content not loaded, is deferred until the loader
+	 * reports the content as loaded. Depending on
+	 * {@link #setExpansionPlaceholderSize(int)}, this view either opens by a
+	 * placeholder size meanwhile or waits in collapsed state.
+	 * 
+	 * A deferred expand passes the same checks as any other expand before,
+	 * including {@link JalousieListener#onBeforeActionStart(int, boolean)},
+	 * and returns true, which means, that the expansion is scheduled. The
+	 * state changes not before the content is loaded. If this view is always
+	 * expanded, the content is loaded, but the state changes right away.
+	 * 
+	 * As for any expand, this view has to be expandable, e.g. by a progress
+	 * view within the hidden content, which is replaced by the loader.
+	 * 
+	 * The loader gets a prefetch hint through {@link #prefetch()}, e.g. on
+	 * touch down on the indicator, or if the prefetch distance is set.
+	 * 
+	 * @param contentLoader
+	 *            the loader or <code>null</code>, if the content is always
+	 *            there
+	 */
+	public void setContentLoader(final JalousieContentLoader contentLoader) {
+		mContentLoader = contentLoader;
+
+		cancelDeferredExpansion();
+		invalidateContent();
+		updatePrefetchObserver();
+	}
+
+	public JalousieContentLoader getContentLoader() {
+		return mContentLoader;
+	}
+
+	/**
+	 * Marks the hidden content as outdated, so that the content loader is
+	 * asked again on the next expand and the next prefetch hint is delivered.
+	 */
+	public void invalidateContent() {
+		mContentLoaded = false;
+		mContentCallback = null;
+		mPrefetched = false;
+
+		updatePrefetchObserver();
+	}
+
+	/**
+	 * Gives the content loader the hint, that the content will probably be
+	 * needed soon. The hint is delivered only once until the content is
+	 * invalidated and not at all, if the content is loaded or loading.
+	 */
+	public void prefetch() {
+		if (mContentLoader == null || mPrefetched || mContentLoaded
+				|| mContentCallback != null || mIsExpanded) {
+			return;
+		}
+
+		Log.v(TAG, "[prefetch]");
+
+		mPrefetched = true;
+		updatePrefetchObserver();
+
+		mContentLoader.onPrefetch(getJalousie());
+	}
+
+	/**
+	 * Lets the content loader get the prefetch hint, as soon as this view
+	 * comes within the given distance of the visible area. This is checked
+	 * after scrolling, when the main thread is idle.
+	 * 
+	 * @param prefetchDistance
+	 *            distance in pixels or -1 to disable the check
+	 */
+	public void setPrefetchDistance(final int prefetchDistance) {
+		mPrefetchDistance = prefetchDistance;
+
+		updatePrefetchObserver();
+	}
+
+	public int getPrefetchDistance() {
+		return mPrefetchDistance;
+	}
+
+	/**
+	 * Sets the size, by which a deferred expansion opens this view right
+	 * away, e.g. to reveal a progress indicator at the start of the hidden
+	 * content. The expansion continues from there, when the content is
+	 * loaded.
+	 * 
+	 * @param placeholderSize
+	 *            size in pixels or 0 to hold the expansion back until the
+	 *            content is loaded
+	 * @see #setContentLoader(JalousieContentLoader)
+	 */
+	public void setExpansionPlaceholderSize(final int placeholderSize) {
+		mExpansionPlaceholderSize = placeholderSize;
+	}
+
+	public int getExpansionPlaceholderSize() {
+		return mExpansionPlaceholderSize;
+	}
+
+	/**
+	 * Starts loading the content, if necessary, and holds the expansion back
+	 * until it is loaded. The placeholder is opened, if it fits into the
+	 * current content.
+	 */
+	private void deferExpansion(final boolean animated, final boolean fromTouch) {
+		Log.v(TAG, "[deferExpansion] loading=" + (mContentCallback != null));
+
+		mExpansionDeferred = true;
+		mDeferredAnimated = animated;
+		mDeferredFromTouch = fromTouch;
+
+		loadContent();
+
+		if (mExpansionDeferred && !mContentLoaded && !mScrubbing
+				&& mExpansionPlaceholderSize > 0 && isScrubbable()) {
+			updateVisibleContentSize();
+
+			final int placeholderSize = Math.min(mVisibleContentSize
+					+ mExpansionPlaceholderSize, mOriginalSize - 1);
+
+			// the listeners approved the expansion already
+			mActionApproved = true;
+			try {
+				if (placeholderSize > mVisibleContentSize
+						&& startScrubbing(JalousieListener.ACTION_EXPAND)) {
+					scrubTo(placeholderSize);
+				}
+			} finally {
+				mActionApproved = false;
+			}
+		}
+	}
+
+	/**
+	 * Asks the content loader for the content, if it is not loading yet.
+	 */
+	private void loadContent() {
+		if (mContentCallback != null) {
+			return;
+		}
+
+		final JalousieContentLoader.Callback callback = new JalousieContentLoader.Callback() {
+
+			@Override
+			public void onContentLoaded() {
+				onContentLoaded(this);
+			}
+		};
+
+		mContentCallback = callback;
+		mContentLoader.onLoadContent(getJalousie(), callback);
+	}
+
+	/**
+	 * Is called, when the content loader reports the content of the given
+	 * load as loaded. A deferred expansion is resumed after the next layout
+	 * pass, so that it expands to the size of the new content.
+	 */
+	private void onContentLoaded(final JalousieContentLoader.Callback callback) {
+		if (callback != mContentCallback) {
+			// the content was invalidated meanwhile
+			return;
+		}
+
+		Log.v(TAG, "[onContentLoaded] deferred=" + mExpansionDeferred);
+
+		mContentCallback = null;
+		mContentLoaded = true;
+
+		forceRelayout();
+		mView.requestLayout();
+
+		if (mExpansionDeferred) {
+			// runs after the traversal, which was just requested
+			mView.post(mResumeExpansionRunnable);
+		}
+	}
+
+	private final Runnable mResumeExpansionRunnable = new Runnable() {
+
+		@Override
+		public void run() {
+			if (!mExpansionDeferred) {
+				return;
+			}
+
+			mExpansionDeferred = false;
+
+			// the listeners approved the expansion, when it was deferred
+			mActionApproved = true;
+			try {
+				expand(mDeferredAnimated, mDeferredFromTouch);
+			} finally {
+				mActionApproved = false;
+			}
+		}
+	};
+
+	/**
+	 * @return true, if a deferred expansion was cancelled
+	 */
+	private boolean cancelDeferredExpansion() {
+		if (!mExpansionDeferred) {
+			return false;
+		}
+
+		mExpansionDeferred = false;
+		mView.removeCallbacks(mResumeExpansionRunnable);
+
+		return true;
+	}
+
+	/**
+	 * @return the host, if it is a jalousie, otherwise this delegate
+	 */
+	private Jalousie getJalousie() {
+		return (mView instanceof Jalousie) ? (Jalousie) mView : this;
+	}
+
+	/**
+	 * Observes scrolling, as long as a prefetch hint can be delivered due to
+	 * the prefetch distance.
+	 */
+	private void updatePrefetchObserver() {
+		final ViewTreeObserver observer = mView.getViewTreeObserver();
+		observer.removeOnScrollChangedListener(mPrefetchScrollListener);
+
+		if (mView.getWindowToken() == null || !isPrefetchPending()) {
+			return;
+		}
+
+		observer.addOnScrollChangedListener(mPrefetchScrollListener);
+		queuePrefetchCheck();
+	}
+
+	private boolean isPrefetchPending() {
+		return mContentLoader != null && mPrefetchDistance >= 0
+				&& !mPrefetched && !mContentLoaded;
+	}
+
+	private void queuePrefetchCheck() {
+		if (mPrefetchCheckQueued || !isPrefetchPending()) {
+			return;
+		}
+
+		mPrefetchCheckQueued = true;
+		Looper.myQueue().addIdleHandler(mPrefetchIdleHandler);
+	}
+
+	private final ViewTreeObserver.OnScrollChangedListener mPrefetchScrollListener = new ViewTreeObserver.OnScrollChangedListener() {
+
+		@Override
+		public void onScrollChanged() {
+			queuePrefetchCheck();
+		}
+	};
+
+	/**
+	 * Checks the prefetch distance only once the main thread is idle, so
+	 * that scroll frames are not slowed down.
+	 */
+	private final MessageQueue.IdleHandler mPrefetchIdleHandler = new MessageQueue.IdleHandler() {
+
+		@Override
+		public boolean queueIdle() {
+			mPrefetchCheckQueued = false;
+
+			if (isPrefetchPending()
+					&& isVisibleOnScreen(mView, mTempRect, mPrefetchDistance)) {
+				prefetch();
+			}
+
+			return false;
+		}
+	};
+
+	/**
+	 * If enabled, the enclosing ScrollView (or HorizontalScrollView) will be
+	 * scrolled along with the expand animation, so that the revealed content
+	 * stays on screen. Default is false.
+	 * 
+	 * @param scrollWithExpansion
+	 *            true, if the scroll container should follow the expansion
+	 */
+	public void setScrollWithExpansion(final boolean scrollWithExpansion) {
+		if (mSpec.isScrollWithExpansion() != scrollWithExpansion) {
+			mSpec = mSpec.buildUpon()
+					.setScrollWithExpansion(scrollWithExpansion).build();
+		}
+	}
+
+	public boolean isScrollWithExpansion() {
+		return mSpec.isScrollWithExpansion();
+	}
+
+	/**
+	 * If enabled, this view collapses and expands along with the deltas of a
+	 * scroll container, e.g. like a collapsing header above a list. The deltas
+	 * of an enclosing ScrollView are tracked automatically, those of other
+	 * containers are passed to {@link #consumeScrollDelta(int)}. Default is
+	 * false.
+	 * 
+	 * @param scrollLinked
+	 */
+	public void setScrollLinked(final boolean scrollLinked) {
+		if (mSpec.isScrollLinked() != scrollLinked) {
+			mSpec = mSpec.buildUpon().setScrollLinked(scrollLinked).build();
+		}
+
+		if (!scrollLinked) {
+			mView.removeCallbacks(mScrollSettleRunnable);
+		}
+
+		updateScrollLinkObserver();
+	}
+
+	/**
+	 * Tracks the scroll position of the enclosing scroll container, as long
+	 * as scroll-linked collapse is enabled.
+	 */
+	private void updateScrollLinkObserver() {
+		final ViewTreeObserver observer = mView.getViewTreeObserver();
+		observer.removeOnScrollChangedListener(mScrollLinkListener);
+
+		if (mView.getWindowToken() == null || mScrollParent == null
+				|| !mSpec.isScrollLinked()) {
+			return;
+		}
+
+		mLastScrollPosition = getScrollPosition(mScrollParent);
+		observer.addOnScrollChangedListener(mScrollLinkListener);
+	}
+
+	private int getScrollPosition(final ViewGroup scrollParent) {
+		return (mContentGravity == Jalousie.GRAVITY_HORIZONTAL) ? scrollParent
+				.getScrollX() : scrollParent.getScrollY();
+	}
+
+	/**
+	 * Passes the scroll deltas of the enclosing scroll container to
+	 * {@link #consumeScrollDelta(int)}. Is notified of each scroll within the
+	 * window, so unchanged positions are skipped.
+	 */
+	private final ViewTreeObserver.OnScrollChangedListener mScrollLinkListener = new ViewTreeObserver.OnScrollChangedListener() {
+
+		@Override
+		public void onScrollChanged() {
+			final ViewGroup scrollParent = mScrollParent;
+
+			if (scrollParent == null) {
+				return;
+			}
+
+			final int position = getScrollPosition(scrollParent);
+			final int delta = position - mLastScrollPosition;
+			// the scroll range shrank below the last position, so the
+			// container clamped its position without any user scroll
+			final boolean clamped = delta < 0
+					&& mLastScrollPosition > getMaxScrollPosition(scrollParent);
+			mLastScrollPosition = position;
+
+			if (delta == 0 || clamped || mIsAnimating || mSpringRunning) {
+				// running actions scroll the container themselves, see
+				// scrollRevealedContentIntoView()
+				return;
+			}
+
+			final int consumed = consumeScrollDelta(delta);
+
+			if (consumed != 0) {
+				// the container already scrolled by the whole delta, so the
+				// content behind this view would move by the size change
+				// twice
+				if (mContentGravity == Jalousie.GRAVITY_HORIZONTAL) {
+					scrollParent.scrollBy(-consumed, 0);
+				} else {
+					scrollParent.scrollBy(0, -consumed);
+				}
+
+				mLastScrollPosition = getScrollPosition(scrollParent);
+			}
+		}
+	};
+
+	/**
+	 * Returns the largest scroll position of the given scroll container in
+	 * direction of the content gravity, as given by the size of its child.
+	 */
+	private int getMaxScrollPosition(final ViewGroup scrollParent) {
+		if (scrollParent.getChildCount() == 0) {
+			return 0;
+		}
+
+		final View child = scrollParent.getChildAt(0);
+
+		if (mContentGravity == Jalousie.GRAVITY_HORIZONTAL) {
+			return Math.max(0, child.getWidth() - scrollParent.getWidth()
+					+ scrollParent.getPaddingLeft()
+					+ scrollParent.getPaddingRight());
+		}
+
+		return Math.max(0, child.getHeight() - scrollParent.getHeight()
+				+ scrollParent.getPaddingTop() + scrollParent.getPaddingBottom());
+	}
+
+	public boolean isScrollLinked() {
+		return mSpec.isScrollLinked();
+	}
+
+	/**
+	 * If enabled, frame intervals are measured during each animation. If
+	 * frames are dropped, the remaining animation continues with a cheaper
+	 * strategy. The quality to start with is remembered per device. Default is
+	 * false.
+	 * 
+	 * @param adaptiveQuality
+	 * @see AnimationQualityController
+	 */
+	public void setAdaptiveQuality(final boolean adaptiveQuality) {
+		if (mSpec.isAdaptiveQuality() != adaptiveQuality) {
+			mSpec = mSpec.buildUpon().setAdaptiveQuality(adaptiveQuality)
+					.build();
+		}
+	}
+
+	public boolean isAdaptiveQuality() {
+		return mSpec.isAdaptiveQuality();
+	}
+
+	/**
+	 * If enabled, the hidden content is rendered into a bitmap once before an
+	 * animation starts, and only this bitmap is drawn during the animation.
+	 * Use this only, if the hidden content does not change during the
+	 * animation. Snapshots are kept in the {@link SnapshotCache} and reused by
+	 * an action, which reverses the running one. When this view is laid out
+	 * again after the action, the snapshot is dropped, so that changed content
+	 * is never animated as a stale picture. Default is false.
+	 * 
+	 * @param snapshotAnimation
+	 * @see #invalidateSnapshot()
+	 */
+	public void setSnapshotAnimation(final boolean snapshotAnimation) {
+		if (mSpec.isSnapshotAnimation() != snapshotAnimation) {
+			mSpec = mSpec.buildUpon().setSnapshotAnimation(snapshotAnimation)
+					.build();
+		}
+
+		if (!snapshotAnimation) {
+			invalidateSnapshot();
+		}
+	}
+
+	public boolean isSnapshotAnimation() {
+		return mSpec.isSnapshotAnimation();
+	}
+
+	@Override
+	public void addJalousieListener(final JalousieListener listener) {
+		if (mJalousieListeners == null) {
+			mJalousieListeners = new ArrayList<JalousieListener>();
+		}
+
+		mJalousieListeners.add(listener);
+	}
+
+	@Override
+	public boolean removeJalousieListener(final JalousieListener listener) {
+		if (mJalousieListeners == null) {
+			return false;
+		}
+
+		return mJalousieListeners.remove(listener);
+	}
+
+	/**
+	 * Asks the listeners of the spec and of this view, whether the action
+	 * should be prevented.
+	 * 
+	 * @return true, if any listener prevents the action
+	 */
+	private boolean notifyOnBeforeActionStart(final int action,
+			final boolean fromTouch) {
+		final List<JalousieListener> specListeners = mSpec.getListeners();
+
+		for (int i = 0, n = specListeners.size(); i < n; i++) {
+			if (specListeners.get(i).onBeforeActionStart(action, fromTouch)) {
+				return true;
+			}
+		}
+
+		if (mJalousieListeners != null) {
+			for (int i = 0, n = mJalousieListeners.size(); i < n; i++) {
+				if (mJalousieListeners.get(i).onBeforeActionStart(action,
+						fromTouch)) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Reports the given size as expansion fraction to all progress
+	 * listeners.
+	 */
+	private void notifyOnActionProgress(final int action, final int size) {
+		final float fraction = toExpansionFraction(size);
+		final List<JalousieListener> specListeners = mSpec.getListeners();
+
+		for (int i = 0, n = specListeners.size(); i < n; i++) {
+			if (specListeners.get(i) instanceof JalousieProgressListener) {
+				((JalousieProgressListener) specListeners.get(i))
+						.onActionProgress(action, fraction);
+			}
+		}
+
+		if (mJalousieListeners != null) {
+			for (int i = 0, n = mJalousieListeners.size(); i < n; i++) {
+				if (mJalousieListeners.get(i) instanceof JalousieProgressListener) {
+					((JalousieProgressListener) mJalousieListeners.get(i))
+							.onActionProgress(action, fraction);
+				}
+			}
+		}
+	}
+
+	private void notifiyOnAnimationStart(final int action,
+			final int animationDuration) {
+		Trace.beginAsyncSection(
+				(action == JalousieListener.ACTION_EXPAND) ? TRACE_ACTION_EXPAND
+						: TRACE_ACTION_COLLAPSE, System.identityHashCode(mView));
+
+		if (BuildConfig.DEBUG && JalousieDebugOverlay.isEnabled()) {
+			getDebugOverlay().onActionStart();
+		}
+
+		final List<JalousieListener> specListeners = mSpec.getListeners();
+
+		for (int i = 0, n = specListeners.size(); i < n; i++) {
+			specListeners.get(i).onActionStart(action, animationDuration);
+		}
+
+		if (mJalousieListeners != null) {
+			for (int i = 0, n = mJalousieListeners.size(); i < n; i++) {
+				mJalousieListeners.get(i).onActionStart(action,
+						animationDuration);
+			}
+		}
+	}
+
+	private void notifiyOnAnimationEnd(final int action) {
+		final List<JalousieListener> specListeners = mSpec.getListeners();
+
+		for (int i = 0, n = specListeners.size(); i < n; i++) {
+			specListeners.get(i).onActionEnd(action);
+		}
+
+		if (mJalousieListeners != null) {
+			for (int i = 0, n = mJalousieListeners.size(); i < n; i++) {
+				mJalousieListeners.get(i).onActionEnd(action);
+			}
+		}
+
+		Trace.endAsyncSection(
+				(action == JalousieListener.ACTION_EXPAND) ? TRACE_ACTION_EXPAND
+						: TRACE_ACTION_COLLAPSE, System.identityHashCode(mView));
+
+		if (BuildConfig.DEBUG && JalousieDebugOverlay.isEnabled()) {
+			// show the final numbers and state
+			mView.invalidate();
+		}
+	}
+
+	/**
+	 * Adds the given view at the index 0.
+	 * 
+	 * @param view
+	 */
+	public void prependViewBeforeSeparator(final View view) {
+		Log.v(TAG, "[prependViewBeforeSeparator] view=" + view);
+
+		mView.addView(view, 0);
+
+		if (mCollapsedChildCount >= 0) {
+			mCollapsedChildCount++;
+		}
+
+		forceRelayout();
+		mView.requestLayout();
+	}
+
+	/**
+	 * Adds the given view at the index right before the separator's index or
+	 * as last visible child, if the collapsed child count is set.
+	 * 
+	 * @param view
+	 */
+	public void appendViewBeforeSeparator(final View view) {
+		final int separatorIndex = getHiddenChildIndex() - 1;
+
+		Log.v(TAG, "[appendViewBeforeSeparator] view=" + view
+				+ ", separatorIndex=" + separatorIndex);
+
+		if (mCollapsedChildCount >= 0) {
+			mView.addView(view, separatorIndex + 1);
+			mCollapsedChildCount = separatorIndex + 2;
+		} else if (separatorIndex >= 0) {
+			mView.addView(view, separatorIndex);
+		}
+
+		forceRelayout();
+		mView.requestLayout();
+	}
+
+	/**
+	 * Adds the given view at the index right after the separator's index or
+	 * as first hidden child, if the collapsed child count is set.
+	 * 
+	 * @param view
+	 */
+	public void prependViewAfterSeparator(final View view) {
+		final int hiddenChildIndex = getHiddenChildIndex();
+
+		Log.v(TAG, "[prependViewAfterSeparator] view=" + view
+				+ ", hiddenChildIndex=" + hiddenChildIndex);
+
+		if (hiddenChildIndex >= 0) {
+			mView.addView(view, hiddenChildIndex);
+		}
+
+		forceRelayout();
+		mView.requestLayout();
+	}
+
+	/**
+	 * Adds the given view at the last index.
+	 * 
+	 * @param view
+	 */
+	public void appendViewAfterSeparator(final View view) {
+		Log.v(TAG, "[appendViewAfterSeparator] view=" + view);
+
+		mView.addView(view, mView.getChildCount());
+
+		forceRelayout();
+		mView.requestLayout();
+	}
+
+	/**
+	 * Removes all views which have an index < separator's index, or all
+	 * visible children, if the collapsed child count is set.
+	 */
+	public void removeViewsBeforeSeparator() {
+		final int separatorIndex = getHiddenChildIndex() - 1;
+
+		Log.v(TAG, "[removeViewsBeforeSeparator] separatorIndex="
+				+ separatorIndex);
+
+		if (mCollapsedChildCount >= 0) {
+			mView.removeViews(0, separatorIndex + 1);
+			mCollapsedChildCount = 0;
+		} else if (separatorIndex >= 0) {
+			mView.removeViews(0, separatorIndex);
+		}
+
+		forceRelayout();
+	}
+
+	/**
+	 * Removes all views which have an index > separator's index, or all
+	 * hidden children, if the collapsed child count is set.
+	 */
+	public void removeViewsAfterSeparator() {
+		final int hiddenChildIndex = getHiddenChildIndex();
+		final int removeChildrenCount = mView.getChildCount()
+				- hiddenChildIndex;
+
+		Log.v(TAG, "[removeViewsAfterSeparator] hiddenChildIndex="
+				+ hiddenChildIndex + ", removeChildrenCount="
+				+ removeChildrenCount);
+
+		if (hiddenChildIndex >= 0 && removeChildrenCount > 0) {
+			mView.removeViews(hiddenChildIndex, removeChildrenCount);
+		}
+
+		// always close jalousie if there is no content expandable
+		collapse(false);
+
+		// set state, so that this jalousie is no more expandable 
+		mIsExpandable = false;
+	}
+
+}
\ No newline at end of file
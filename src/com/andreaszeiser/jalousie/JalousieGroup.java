@@ -0,0 +1,433 @@
+/*
+ * Copyright (C) 2012 Andreas Zeiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andreaszeiser.jalousie;
+
+import java.util.ArrayList;
+
+import android.graphics.Rect;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.View;
+
+import com.andreaszeiser.jalousie.indicator.IndicatorElement;
+import com.andreaszeiser.jalousie.util.Log;
+
+/**
+ * Expands or collapses a group of jalousies at once. Instead of starting all
+ * animations within the same frame, the animations are started one after
+ * another with a stagger, and only a limited number of them runs at the same
+ * time. Jalousies, which are not visible on screen, switch their state
+ * immediately, so that all of them share a single layout pass.
+ * 
+ * Optionally, a master indicator can be attached, which toggles the whole
+ * group on click and shows the state of the group.
+ * 
+ * Must only be used from the main thread.
+ * 
+ * @author Andreas Zeiser
+ * 
+ */
+public class JalousieGroup {
+
+	private static final String TAG = JalousieGroup.class.getSimpleName();
+
+	/**
+	 * Default delay between the start of two animations in ms.
+	 */
+	public static final int DEFAULT_STAGGER = 40;
+
+	/**
+	 * Default maximum number of animations running at the same time.
+	 */
+	public static final int DEFAULT_MAX_CONCURRENT_ANIMATIONS = 4;
+
+	/**
+	 * A jalousie of this group together with its bookkeeping.
+	 */
+	private class Member implements JalousieListener {
+
+		final Jalousie mJalousie;
+
+		/**
+		 * True, while an animation, which was started by this group, is
+		 * running.
+		 */
+		boolean mRunning = false;
+
+		Member(final Jalousie jalousie) {
+			mJalousie = jalousie;
+		}
+
+		@Override
+		public boolean onBeforeActionStart(final int action,
+				final boolean fromTouch) {
+			return false;
+		}
+
+		@Override
+		public void onActionStart(final int action, final int animationDuration) {
+			if (mStartingMember == this) {
+				mRunning = true;
+				mRunningCount++;
+			}
+		}
+
+		@Override
+		public void onActionEnd(final int action) {
+			if (mRunning) {
+				mRunning = false;
+				mRunningCount--;
+
+				scheduleNext(0);
+			}
+		}
+	}
+
+	private final ArrayList<Member> mMembers = new ArrayList<Member>();
+
+	/**
+	 * Visible members, whose action was not started yet.
+	 */
+	private final ArrayList<Member> mQueue = new ArrayList<Member>();
+
+	/**
+	 * Index of the next member within {@link #mQueue}.
+	 */
+	private int mQueueIndex;
+
+	/**
+	 * Action of the current batch, either
+	 * {@link JalousieListener#ACTION_EXPAND} or
+	 * {@link JalousieListener#ACTION_COLLAPSE}. Is 0 until the first batch.
+	 */
+	private int mAction;
+
+	/**
+	 * Number of animations, which were started by this group and which are
+	 * still running.
+	 */
+	private int mRunningCount;
+
+	/**
+	 * The member, whose action is started right now.
+	 */
+	private Member mStartingMember;
+
+	/**
+	 * Start time of the last animation in ms.
+	 */
+	private long mLastStartTime;
+
+	private int mStagger = DEFAULT_STAGGER;
+
+	private int mMaxConcurrentAnimations = DEFAULT_MAX_CONCURRENT_ANIMATIONS;
+
+	private IndicatorElement mMasterIndicator;
+
+	private final Handler mHandler = new Handler(Looper.getMainLooper());
+
+	/**
+	 * Reusable rect for visibility checks.
+	 */
+	private final Rect mTempRect = new Rect();
+
+	private final Runnable mStartNextRunnable = new Runnable() {
+
+		@Override
+		public void run() {
+			startNext();
+		}
+	};
+
+	/**
+	 * Adds the given jalousie to this group.
+	 * 
+	 * @param jalousie
+	 */
+	public void add(final Jalousie jalousie) {
+		if (indexOf(jalousie) >= 0) {
+			return;
+		}
+
+		final Member member = new Member(jalousie);
+		jalousie.addJalousieListener(member);
+
+		mMembers.add(member);
+	}
+
+	/**
+	 * Removes the given jalousie from this group.
+	 * 
+	 * @param jalousie
+	 * @return true, if the jalousie was part of this group
+	 */
+	public boolean remove(final Jalousie jalousie) {
+		final int index = indexOf(jalousie);
+
+		if (index < 0) {
+			return false;
+		}
+
+		final Member member = mMembers.remove(index);
+		jalousie.removeJalousieListener(member);
+
+		final int queueIndex = mQueue.indexOf(member);
+		if (queueIndex >= 0) {
+			mQueue.remove(queueIndex);
+
+			if (queueIndex < mQueueIndex) {
+				// the following members moved down by one, do not skip the
+				// next one
+				mQueueIndex--;
+			}
+		}
+
+		if (member.mRunning) {
+			member.mRunning = false;
+			mRunningCount--;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Removes all jalousies from this group.
+	 */
+	public void clear() {
+		for (int i = mMembers.size() - 1; i >= 0; i--) {
+			remove(mMembers.get(i).mJalousie);
+		}
+	}
+
+	public int size() {
+		return mMembers.size();
+	}
+
+	private int indexOf(final Jalousie jalousie) {
+		final int size = mMembers.size();
+
+		for (int i = 0; i < size; i++) {
+			if (mMembers.get(i).mJalousie == jalousie) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Sets the delay between the start of two animations.
+	 * 
+	 * @param stagger
+	 *            delay in ms, default is {@value #DEFAULT_STAGGER}
+	 */
+	public void setStagger(final int stagger) {
+		mStagger = Math.max(stagger, 0);
+	}
+
+	public int getStagger() {
+		return mStagger;
+	}
+
+	/**
+	 * Sets the maximum number of animations, which run at the same time.
+	 * 
+	 * @param maxConcurrentAnimations
+	 *            default is {@value #DEFAULT_MAX_CONCURRENT_ANIMATIONS}
+	 */
+	public void setMaxConcurrentAnimations(final int maxConcurrentAnimations) {
+		mMaxConcurrentAnimations = Math.max(maxConcurrentAnimations, 1);
+	}
+
+	public int getMaxConcurrentAnimations() {
+		return mMaxConcurrentAnimations;
+	}
+
+	/**
+	 * Attaches a master indicator to this group. If the indicator is a view,
+	 * a click on it toggles the whole group. The indicator shows the state of
+	 * the last batch.
+	 * 
+	 * @param indicator
+	 *            the master indicator or <code>null</code>
+	 */
+	public void setMasterIndicator(final IndicatorElement indicator) {
+		if (mMasterIndicator instanceof View) {
+			((View) mMasterIndicator).setOnClickListener(null);
+		}
+
+		mMasterIndicator = indicator;
+
+		if (indicator instanceof View) {
+			((View) indicator).setOnClickListener(new View.OnClickListener() {
+
+				@Override
+				public void onClick(View v) {
+					toggleAll();
+				}
+			});
+		}
+	}
+
+	public IndicatorElement getMasterIndicator() {
+		return mMasterIndicator;
+	}
+
+	/**
+	 * Expands all jalousies of this group.
+	 */
+	public void expandAll() {
+		startBatch(JalousieListener.ACTION_EXPAND);
+	}
+
+	/**
+	 * Collapses all jalousies of this group.
+	 */
+	public void collapseAll() {
+		startBatch(JalousieListener.ACTION_COLLAPSE);
+	}
+
+	/**
+	 * Collapses all jalousies, if the last batch expanded them or if all of
+	 * them are expanded. Otherwise all jalousies are expanded.
+	 */
+	public void toggleAll() {
+		if (mAction == JalousieListener.ACTION_EXPAND
+				|| (mAction == 0 && areAllExpanded())) {
+			collapseAll();
+		} else {
+			expandAll();
+		}
+	}
+
+	private boolean areAllExpanded() {
+		final int size = mMembers.size();
+
+		for (int i = 0; i < size; i++) {
+			if (!mMembers.get(i).mJalousie.isExpanded()) {
+				return false;
+			}
+		}
+
+		return size > 0;
+	}
+
+	/**
+	 * Switches all members, which are not visible, immediately and queues all
+	 * visible ones.
+	 */
+	private void startBatch(final int action) {
+		Log.v(TAG, "[startBatch] action=" + action + ", members="
+				+ mMembers.size());
+
+		mAction = action;
+		mQueue.clear();
+		mQueueIndex = 0;
+
+		final int size = mMembers.size();
+		Member member;
+		for (int i = 0; i < size; i++) {
+			member = mMembers.get(i);
+
+			if (isVisibleOnScreen(member.mJalousie)) {
+				mQueue.add(member);
+			} else {
+				// all of these share the next layout pass
+				start(member, false);
+			}
+		}
+
+		if (mMasterIndicator != null) {
+			// the indicator shows the action, which would be done next
+			mMasterIndicator
+					.setState((action == JalousieListener.ACTION_EXPAND) ? IndicatorElement.STATE_COLLAPSED
+							: IndicatorElement.STATE_EXPANDED);
+		}
+
+		mHandler.removeCallbacks(mStartNextRunnable);
+		startNext();
+	}
+
+	/**
+	 * Starts queued actions, as long as the limit of running animations and
+	 * the stagger allow it.
+	 */
+	private void startNext() {
+		final long now = SystemClock.uptimeMillis();
+
+		while (mQueueIndex < mQueue.size()
+				&& mRunningCount < mMaxConcurrentAnimations) {
+			final long wait = mLastStartTime + mStagger - now;
+			if (wait > 0) {
+				scheduleNext(wait);
+				return;
+			}
+
+			final Member member = mQueue.get(mQueueIndex++);
+
+			// the member may have been scrolled out of the screen meanwhile
+			if (start(member, isVisibleOnScreen(member.mJalousie))
+					&& member.mRunning) {
+				mLastStartTime = now;
+			}
+		}
+
+		if (mQueueIndex >= mQueue.size()) {
+			mQueue.clear();
+			mQueueIndex = 0;
+		}
+	}
+
+	private void scheduleNext(final long delay) {
+		if (mQueueIndex >= mQueue.size()) {
+			return;
+		}
+
+		mHandler.removeCallbacks(mStartNextRunnable);
+		mHandler.postDelayed(mStartNextRunnable, delay);
+	}
+
+	/**
+	 * Starts the current action on the given member.
+	 * 
+	 * @return true, if the jalousie changes its state
+	 */
+	private boolean start(final Member member, final boolean animated) {
+		mStartingMember = member;
+
+		try {
+			if (mAction == JalousieListener.ACTION_EXPAND) {
+				return member.mJalousie.expand(animated);
+			}
+
+			return member.mJalousie.collapse(animated);
+		} finally {
+			mStartingMember = null;
+		}
+	}
+
+	private boolean isVisibleOnScreen(final Jalousie jalousie) {
+		if (jalousie instanceof View) {
+			return JalousieDelegate.isVisibleOnScreen((View) jalousie,
+					mTempRect);
+		}
+
+		return true;
+	}
+
+}
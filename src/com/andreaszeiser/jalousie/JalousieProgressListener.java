@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2012 Andreas Zeiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andreaszeiser.jalousie;
+
+/**
+ * Listener receiving the progress of expand and collapse actions in addition
+ * to their start and end. Is added like any other listener through
+ * {@link Jalousie#addJalousieListener(JalousieListener)}.
+ * 
+ * @author Andreas Zeiser
+ * 
+ */
+public interface JalousieProgressListener extends JalousieListener {
+
+	/**
+	 * This callback will be invoked on each step of a running action, i.e.
+	 * on each animation frame or on each call of
+	 * {@link JalousieDelegate#setExpansionFraction(float)}.
+	 * 
+	 * @param action
+	 *            either {@link #ACTION_EXPAND} or {@link #ACTION_COLLAPSE}
+	 * @param fraction
+	 *            the expansion fraction, 0 means collapsed and 1 means
+	 *            expanded
+	 */
+	public void onActionProgress(final int action, final float fraction);
+
+}
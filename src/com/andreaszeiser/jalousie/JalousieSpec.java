@@ -0,0 +1,310 @@
+/*
+ * Copyright (C) 2012 Andreas Zeiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andreaszeiser.jalousie;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import android.view.animation.Interpolator;
+
+import com.andreaszeiser.jalousie.interpolator.Interpolators;
+
+/**
+ * Immutable configuration of jalousies, which can be shared by any number of
+ * instances, e.g. by all rows of a list. A spec holds the animation duration,
+ * the interpolator, the animation mode, the animation options and listeners,
+ * which are notified by every jalousie using this spec.
+ * 
+ * A jalousie references {@link #DEFAULT} until another spec is set. Changing
+ * a single option of one jalousie, e.g. through
+ * {@link Jalousie#setAnimationDuration(int)}, derives a new spec for this
+ * jalousie only.
+ * 
+ * @see JalousieDelegate#setJalousieSpec(JalousieSpec)
+ * 
+ * @author Andreas Zeiser
+ * 
+ */
+public final class JalousieSpec {
+
+	/**
+	 * The spec, which is used by jalousies without a spec of their own.
+	 */
+	public static final JalousieSpec DEFAULT = new Builder().build();
+
+	private final int mAnimationDuration;
+
+	private final Interpolator mInterpolator;
+
+	private final boolean mAnimationEnabled;
+
+	private final boolean mSpringAnimation;
+
+	private final float mSpringStiffness;
+
+	private final float mSpringDampingRatio;
+
+	private final boolean mScrollWithExpansion;
+
+	private final boolean mScrollLinked;
+
+	private final boolean mAdaptiveQuality;
+
+	private final boolean mSnapshotAnimation;
+
+	private final List<JalousieListener> mListeners;
+
+	private JalousieSpec(final Builder builder) {
+		mAnimationDuration = builder.mAnimationDuration;
+		mInterpolator = builder.mInterpolator;
+		mAnimationEnabled = builder.mAnimationEnabled;
+		mSpringAnimation = builder.mSpringAnimation;
+		mSpringStiffness = builder.mSpringStiffness;
+		mSpringDampingRatio = builder.mSpringDampingRatio;
+		mScrollWithExpansion = builder.mScrollWithExpansion;
+		mScrollLinked = builder.mScrollLinked;
+		mAdaptiveQuality = builder.mAdaptiveQuality;
+		mSnapshotAnimation = builder.mSnapshotAnimation;
+
+		if (builder.mListeners == null || builder.mListeners.isEmpty()) {
+			mListeners = Collections.emptyList();
+		} else {
+			mListeners = Collections
+					.unmodifiableList(new ArrayList<JalousieListener>(
+							builder.mListeners));
+		}
+	}
+
+	/**
+	 * @return duration of an animation in ms
+	 */
+	public int getAnimationDuration() {
+		return mAnimationDuration;
+	}
+
+	public Interpolator getInterpolator() {
+		return mInterpolator;
+	}
+
+	public boolean isAnimationEnabled() {
+		return mAnimationEnabled;
+	}
+
+	/**
+	 * @return true, if expand and collapse are driven by a spring instead of
+	 *         duration and interpolator
+	 */
+	public boolean isSpringAnimation() {
+		return mSpringAnimation;
+	}
+
+	public float getSpringStiffness() {
+		return mSpringStiffness;
+	}
+
+	public float getSpringDampingRatio() {
+		return mSpringDampingRatio;
+	}
+
+	public boolean isScrollWithExpansion() {
+		return mScrollWithExpansion;
+	}
+
+	public boolean isScrollLinked() {
+		return mScrollLinked;
+	}
+
+	public boolean isAdaptiveQuality() {
+		return mAdaptiveQuality;
+	}
+
+	public boolean isSnapshotAnimation() {
+		return mSnapshotAnimation;
+	}
+
+	/**
+	 * @return the listeners, which are notified by every jalousie using this
+	 *         spec, as an unmodifiable list
+	 */
+	public List<JalousieListener> getListeners() {
+		return mListeners;
+	}
+
+	/**
+	 * @return a builder, which is initialized with the values of this spec
+	 */
+	public Builder buildUpon() {
+		return new Builder(this);
+	}
+
+	/**
+	 * Builds a {@link JalousieSpec}.
+	 */
+	public static final class Builder {
+
+		private int mAnimationDuration = JalousieDelegate.DEFAULT_ANIMATION_DURATION;
+
+		private Interpolator mInterpolator = Interpolators.ACCELERATE_DECELERATE;
+
+		private boolean mAnimationEnabled = true;
+
+		private boolean mSpringAnimation = false;
+
+		private float mSpringStiffness = Spring.DEFAULT_STIFFNESS;
+
+		private float mSpringDampingRatio = Spring.DEFAULT_DAMPING_RATIO;
+
+		private boolean mScrollWithExpansion = false;
+
+		private boolean mScrollLinked = false;
+
+		private boolean mAdaptiveQuality = false;
+
+		private boolean mSnapshotAnimation = false;
+
+		/**
+		 * Is created with the first listener.
+		 */
+		private ArrayList<JalousieListener> mListeners;
+
+		public Builder() {
+		}
+
+		private Builder(final JalousieSpec spec) {
+			mAnimationDuration = spec.mAnimationDuration;
+			mInterpolator = spec.mInterpolator;
+			mAnimationEnabled = spec.mAnimationEnabled;
+			mSpringAnimation = spec.mSpringAnimation;
+			mSpringStiffness = spec.mSpringStiffness;
+			mSpringDampingRatio = spec.mSpringDampingRatio;
+			mScrollWithExpansion = spec.mScrollWithExpansion;
+			mScrollLinked = spec.mScrollLinked;
+			mAdaptiveQuality = spec.mAdaptiveQuality;
+			mSnapshotAnimation = spec.mSnapshotAnimation;
+
+			if (!spec.mListeners.isEmpty()) {
+				mListeners = new ArrayList<JalousieListener>(spec.mListeners);
+			}
+		}
+
+		/**
+		 * @param animationDuration
+		 *            duration in ms, default is
+		 *            {@value JalousieDelegate#DEFAULT_ANIMATION_DURATION}
+		 */
+		public Builder setAnimationDuration(final int animationDuration) {
+			mAnimationDuration = animationDuration;
+			return this;
+		}
+
+		/**
+		 * @param interpolator
+		 *            default is {@link Interpolators#ACCELERATE_DECELERATE}
+		 */
+		public Builder setInterpolator(final Interpolator interpolator) {
+			mInterpolator = interpolator;
+			return this;
+		}
+
+		public Builder setAnimationEnabled(final boolean animationEnabled) {
+			mAnimationEnabled = animationEnabled;
+			return this;
+		}
+
+		/**
+		 * @see JalousieDelegate#setSpringAnimation(boolean)
+		 */
+		public Builder setSpringAnimation(final boolean springAnimation) {
+			mSpringAnimation = springAnimation;
+			return this;
+		}
+
+		/**
+		 * @see Spring#setConfiguration(float, float)
+		 */
+		public Builder setSpringConfiguration(final float stiffness,
+				final float dampingRatio) {
+			if (stiffness <= 0 || dampingRatio < Spring.MIN_DAMPING_RATIO) {
+				throw new IllegalArgumentException("stiffness must be > 0 and "
+						+ "damping ratio must be >= " + Spring.MIN_DAMPING_RATIO);
+			}
+
+			mSpringStiffness = stiffness;
+			mSpringDampingRatio = dampingRatio;
+			return this;
+		}
+
+		/**
+		 * @see JalousieDelegate#setScrollWithExpansion(boolean)
+		 */
+		public Builder setScrollWithExpansion(final boolean scrollWithExpansion) {
+			mScrollWithExpansion = scrollWithExpansion;
+			return this;
+		}
+
+		/**
+		 * @see JalousieDelegate#setScrollLinked(boolean)
+		 */
+		public Builder setScrollLinked(final boolean scrollLinked) {
+			mScrollLinked = scrollLinked;
+			return this;
+		}
+
+		/**
+		 * @see JalousieDelegate#setAdaptiveQuality(boolean)
+		 */
+		public Builder setAdaptiveQuality(final boolean adaptiveQuality) {
+			mAdaptiveQuality = adaptiveQuality;
+			return this;
+		}
+
+		/**
+		 * @see JalousieDelegate#setSnapshotAnimation(boolean)
+		 */
+		public Builder setSnapshotAnimation(final boolean snapshotAnimation) {
+			mSnapshotAnimation = snapshotAnimation;
+			return this;
+		}
+
+		/**
+		 * Adds a listener, which is notified by every jalousie using the
+		 * spec.
+		 */
+		public Builder addListener(final JalousieListener listener) {
+			if (mListeners == null) {
+				mListeners = new ArrayList<JalousieListener>();
+			}
+
+			mListeners.add(listener);
+			return this;
+		}
+
+		public Builder removeListener(final JalousieListener listener) {
+			if (mListeners != null) {
+				mListeners.remove(listener);
+			}
+
+			return this;
+		}
+
+		public JalousieSpec build() {
+			return new JalousieSpec(this);
+		}
+	}
+
+}
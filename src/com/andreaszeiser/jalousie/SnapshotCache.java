@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2012 Andreas Zeiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andreaszeiser.jalousie;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import android.graphics.Bitmap;
+
+import com.andreaszeiser.jalousie.util.Log;
+
+/**
+ * A global least recently used cache for the bitmap snapshots of hidden
+ * jalousie content. The cache is limited by the number of bytes of all
+ * contained bitmaps. If the limit is exceeded, the least recently used
+ * snapshots are evicted and recycled. Snapshots, which are in use, i.e. drawn
+ * by a running animation, are never evicted. They are evicted once they are
+ * released, if the cache still exceeds its limit.
+ * 
+ * Must only be accessed from the main thread.
+ * 
+ * @author Andreas Zeiser
+ * 
+ */
+public final class SnapshotCache {
+
+	private static final String TAG = SnapshotCache.class.getSimpleName();
+
+	/**
+	 * Maximum size of all snapshots in bytes. Default is 1/16 of the maximum
+	 * heap size.
+	 */
+	private static long sMaxSize = Runtime.getRuntime().maxMemory() / 16;
+
+	/**
+	 * Current size of all snapshots in bytes.
+	 */
+	private static long sSize = 0;
+
+	/**
+	 * Snapshots in access order, the eldest entry is the least recently used
+	 * one.
+	 */
+	private static final LinkedHashMap<Object, Bitmap> sSnapshots = new LinkedHashMap<Object, Bitmap>(
+			16, 0.75f, true);
+
+	/**
+	 * Keys of the snapshots, which are in use and must not be recycled.
+	 */
+	private static final HashSet<Object> sInUse = new HashSet<Object>();
+
+	private SnapshotCache() {
+	}
+
+	/**
+	 * Returns the snapshot for the given key, if it is cached and has the
+	 * given dimension. The returned snapshot is in use until
+	 * {@link #release(Object)} is called.
+	 * 
+	 * @param key
+	 * @param width
+	 * @param height
+	 * @return the cached snapshot or <code>null</code>
+	 */
+	static Bitmap get(final Object key, final int width, final int height) {
+		final Bitmap snapshot = sSnapshots.get(key);
+
+		if (snapshot == null) {
+			return null;
+		}
+
+		if (snapshot.getWidth() != width || snapshot.getHeight() != height) {
+			// content size changed, the snapshot is stale
+			remove(key);
+			return null;
+		}
+
+		sInUse.add(key);
+
+		return snapshot;
+	}
+
+	/**
+	 * Puts the given snapshot into the cache and evicts least recently used
+	 * snapshots, until the cache fits into its maximum size again. A snapshot,
+	 * which is larger than the maximum size, is not cached at all. A cached
+	 * snapshot is in use until {@link #release(Object)} is called.
+	 * 
+	 * @param key
+	 * @param snapshot
+	 * @return true, if the snapshot was put into the cache
+	 */
+	static boolean put(final Object key, final Bitmap snapshot) {
+		final long size = sizeOf(snapshot);
+
+		if (size > sMaxSize) {
+			return false;
+		}
+
+		remove(key);
+
+		sSnapshots.put(key, snapshot);
+		sSize += size;
+		sInUse.add(key);
+
+		trimToSize(sMaxSize);
+
+		return true;
+	}
+
+	/**
+	 * Marks the snapshot for the given key as no longer in use. If the cache
+	 * exceeds its maximum size, it may be evicted and recycled right away.
+	 * 
+	 * @param key
+	 */
+	static void release(final Object key) {
+		if (sInUse.remove(key)) {
+			trimToSize(sMaxSize);
+		}
+	}
+
+	/**
+	 * Removes and recycles the snapshot for the given key.
+	 * 
+	 * @param key
+	 */
+	static void remove(final Object key) {
+		final Bitmap snapshot = take(key);
+
+		if (snapshot != null) {
+			snapshot.recycle();
+		}
+	}
+
+	/**
+	 * Removes the snapshot for the given key without recycling it. The caller
+	 * becomes responsible for the returned bitmap.
+	 * 
+	 * @param key
+	 * @return the removed snapshot or <code>null</code>
+	 */
+	static Bitmap take(final Object key) {
+		final Bitmap snapshot = sSnapshots.remove(key);
+		sInUse.remove(key);
+
+		if (snapshot != null) {
+			sSize -= sizeOf(snapshot);
+		}
+
+		return snapshot;
+	}
+
+	/**
+	 * Sets the maximum size of all cached snapshots.
+	 * 
+	 * @param maxSize
+	 *            size in bytes
+	 */
+	public static void setMaxSize(final long maxSize) {
+		sMaxSize = maxSize;
+
+		trimToSize(maxSize);
+	}
+
+	public static long getMaxSize() {
+		return sMaxSize;
+	}
+
+	/**
+	 * Removes and recycles all cached snapshots, which are not in use. Call
+	 * this e.g. in <code>onLowMemory()</code>.
+	 */
+	public static void clear() {
+		trimToSize(0);
+	}
+
+	private static void trimToSize(final long maxSize) {
+		final Iterator<Map.Entry<Object, Bitmap>> iterator = sSnapshots
+				.entrySet().iterator();
+
+		while (sSize > maxSize && iterator.hasNext()) {
+			final Map.Entry<Object, Bitmap> entry = iterator.next();
+
+			if (sInUse.contains(entry.getKey())) {
+				// still drawn, is trimmed on release
+				continue;
+			}
+
+			final Bitmap snapshot = entry.getValue();
+			iterator.remove();
+
+			sSize -= sizeOf(snapshot);
+			snapshot.recycle();
+		}
+
+		Log.v(TAG, "[trimToSize] size=" + sSize + ", count=" + sSnapshots.size());
+	}
+
+	private static long sizeOf(final Bitmap bitmap) {
+		return (long) bitmap.getRowBytes() * bitmap.getHeight();
+	}
+
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) 2012 Andreas Zeiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andreaszeiser.jalousie;
+
+/**
+ * A damped spring with unit mass, which moves a position towards a target.
+ * Position and velocity are kept in primitive fields, so that the target can
+ * be changed at any time without losing the current velocity and without
+ * allocating anything.
+ * 
+ * The spring is at rest, if both its distance to the target and its velocity
+ * fall below a threshold of about one pixel. Then the position snaps to the
+ * target, so that no frames are spent on invisible movements.
+ * 
+ * @author Andreas Zeiser
+ * 
+ */
+public final class Spring {
+
+	/**
+	 * Default stiffness of the spring.
+	 */
+	public static final float DEFAULT_STIFFNESS = 300f;
+
+	/**
+	 * Default damping ratio. A ratio of 1 is critically damped, so the spring
+	 * reaches its target as fast as possible without overshooting.
+	 */
+	public static final float DEFAULT_DAMPING_RATIO = 1f;
+
+	/**
+	 * Minimum damping ratio. An undamped spring never comes to rest, and with
+	 * lower ratios it keeps oscillating for seconds.
+	 */
+	public static final float MIN_DAMPING_RATIO = 0.2f;
+
+	/**
+	 * The spring is at rest, if the distance to the target is below this value
+	 * in pixels.
+	 */
+	private static final float REST_DISTANCE = 0.5f;
+
+	/**
+	 * The spring is at rest, if the velocity is below this value in pixels per
+	 * second.
+	 */
+	private static final float REST_VELOCITY = 5f;
+
+	/**
+	 * Maximum length of a single integration step in seconds. Longer frames
+	 * are split up, so that the integration stays stable.
+	 */
+	private static final float MAX_STEP = 1f / 240f;
+
+	private float mStiffness = DEFAULT_STIFFNESS;
+
+	private float mDampingRatio = DEFAULT_DAMPING_RATIO;
+
+	/**
+	 * Damping coefficient, derived from stiffness and damping ratio.
+	 */
+	private float mDamping;
+
+	private float mPosition;
+
+	/**
+	 * Velocity in pixels per second.
+	 */
+	private float mVelocity;
+
+	private float mTarget;
+
+	public Spring() {
+		updateDamping();
+	}
+
+	/**
+	 * @param stiffness
+	 *            stiffness of the spring, must be > 0
+	 * @param dampingRatio
+	 *            1 for critical damping, values < 1 let the spring overshoot,
+	 *            values > 1 slow it down, must be >=
+	 *            {@value #MIN_DAMPING_RATIO}
+	 */
+	public void setConfiguration(final float stiffness,
+			final float dampingRatio) {
+		if (stiffness <= 0 || dampingRatio < MIN_DAMPING_RATIO) {
+			throw new IllegalArgumentException("stiffness must be > 0 and "
+					+ "damping ratio must be >= " + MIN_DAMPING_RATIO);
+		}
+
+		mStiffness = stiffness;
+		mDampingRatio = dampingRatio;
+
+		updateDamping();
+	}
+
+	private void updateDamping() {
+		mDamping = 2f * mDampingRatio * (float) Math.sqrt(mStiffness);
+	}
+
+	public float getStiffness() {
+		return mStiffness;
+	}
+
+	public float getDampingRatio() {
+		return mDampingRatio;
+	}
+
+	public void setPosition(final float position) {
+		mPosition = position;
+	}
+
+	public float getPosition() {
+		return mPosition;
+	}
+
+	/**
+	 * @param velocity
+	 *            velocity in pixels per second
+	 */
+	public void setVelocity(final float velocity) {
+		mVelocity = velocity;
+	}
+
+	public float getVelocity() {
+		return mVelocity;
+	}
+
+	/**
+	 * Sets a new target. Position and velocity are kept, so the movement
+	 * continues smoothly from its current state.
+	 * 
+	 * @param target
+	 */
+	public void setTarget(final float target) {
+		mTarget = target;
+	}
+
+	public float getTarget() {
+		return mTarget;
+	}
+
+	/**
+	 * Advances the spring by the given time.
+	 * 
+	 * @param interval
+	 *            elapsed time in seconds
+	 * @return true, if the spring is still moving, false if it came to rest
+	 */
+	public boolean step(float interval) {
+		while (interval > 0) {
+			final float dt = Math.min(interval, MAX_STEP);
+			interval -= dt;
+
+			// semi-implicit euler integration
+			final float acceleration = mStiffness * (mTarget - mPosition)
+					- mDamping * mVelocity;
+			mVelocity += acceleration * dt;
+			mPosition += mVelocity * dt;
+		}
+
+		if (isAtRest()) {
+			mPosition = mTarget;
+			mVelocity = 0;
+
+			return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * @return true, if the spring is close enough to its target and slow
+	 *         enough to be considered as resting
+	 */
+	public boolean isAtRest() {
+		return Math.abs(mTarget - mPosition) < REST_DISTANCE
+				&& Math.abs(mVelocity) < REST_VELOCITY;
+	}
+
+	/**
+	 * Estimates the time until the spring comes to rest from its current
+	 * state, based on the decay of its envelope.
+	 * 
+	 * @return estimated duration in ms
+	 */
+	public int estimateDuration() {
+		final float distance = Math.max(Math.abs(mTarget - mPosition),
+				REST_DISTANCE);
+		final double omega = Math.sqrt(mStiffness);
+
+		// decay rate of the slowest mode
+		final double decay;
+		if (mDampingRatio < 1f) {
+			decay = mDampingRatio * omega;
+		} else {
+			decay = omega
+					* (mDampingRatio - Math.sqrt(mDampingRatio * mDampingRatio
+							- 1));
+		}
+
+		if (decay <= 0) {
+			return Integer.MAX_VALUE;
+		}
+
+		return (int) (1000 * Math.log(distance / REST_DISTANCE) / decay);
+	}
+
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (C) 2012 Andreas Zeiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andreaszeiser.jalousie;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import android.graphics.Typeface;
+import android.os.Process;
+import android.text.Layout;
+import android.text.Spanned;
+import android.text.TextUtils;
+
+import com.andreaszeiser.jalousie.util.Log;
+
+/**
+ * A global least recently used cache for the text layouts of
+ * {@link ExpandableTextJalousie}s, keyed by text, width and text appearance.
+ * The layouts are created on a single background thread, so that long texts
+ * are never measured on the main thread.
+ * 
+ * Must only be accessed from the main thread, except for
+ * {@link #execute(Runnable)}.
+ * 
+ * @author Andreas Zeiser
+ * 
+ */
+public final class TextLayoutCache {
+
+	private static final String TAG = TextLayoutCache.class.getSimpleName();
+
+	/**
+	 * Default number of cached layout pairs.
+	 */
+	public static final int DEFAULT_MAX_ENTRIES = 64;
+
+	private static int sMaxEntries = DEFAULT_MAX_ENTRIES;
+
+	/**
+	 * Layouts in access order, the eldest entry is the least recently used
+	 * one.
+	 */
+	private static final LinkedHashMap<Key, Layouts> sLayouts = new LinkedHashMap<Key, Layouts>(
+			16, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<Key, Layouts> eldest) {
+			return size() > sMaxEntries;
+		}
+	};
+
+	/**
+	 * Executor, which creates the layouts. Is created with the first task.
+	 */
+	private static ExecutorService sExecutor;
+
+	private TextLayoutCache() {
+	}
+
+	/**
+	 * The full and the truncated layout of a text.
+	 */
+	static final class Layouts {
+
+		/**
+		 * Layout of the whole text.
+		 */
+		final Layout full;
+
+		/**
+		 * Layout of the text cut to the collapsed line count and ellipsized,
+		 * or <code>null</code>, if the whole text fits into these lines.
+		 */
+		final Layout truncated;
+
+		Layouts(final Layout full, final Layout truncated) {
+			this.full = full;
+			this.truncated = truncated;
+		}
+	}
+
+	/**
+	 * Identifies a pair of layouts. Texts are compared by their characters,
+	 * styled texts only by identity, because their spans affect the layout.
+	 */
+	static final class Key {
+
+		final CharSequence text;
+
+		final int width;
+
+		final float textSize;
+
+		final Typeface typeface;
+
+		final float lineSpacingMultiplier;
+
+		final float lineSpacingExtra;
+
+		final int collapsedLines;
+
+		/**
+		 * Hash code, which is calculated once, because the key is looked up
+		 * on each measure.
+		 */
+		private final int mHashCode;
+
+		Key(final CharSequence text, final int width, final float textSize,
+				final Typeface typeface, final float lineSpacingMultiplier,
+				final float lineSpacingExtra, final int collapsedLines) {
+			this.text = text;
+			this.width = width;
+			this.textSize = textSize;
+			this.typeface = typeface;
+			this.lineSpacingMultiplier = lineSpacingMultiplier;
+			this.lineSpacingExtra = lineSpacingExtra;
+			this.collapsedLines = collapsedLines;
+
+			// styled texts are compared by identity, so they are hashed by
+			// identity as well, which also saves copying them
+			int result = (text instanceof Spanned) ? System
+					.identityHashCode(text) : text.toString().hashCode();
+			result = 31 * result + width;
+			result = 31 * result + Float.floatToIntBits(textSize);
+			result = 31 * result + collapsedLines;
+			mHashCode = result;
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (this == o) {
+				return true;
+			}
+
+			if (!(o instanceof Key)) {
+				return false;
+			}
+
+			final Key other = (Key) o;
+
+			if (width != other.width || textSize != other.textSize
+					|| lineSpacingMultiplier != other.lineSpacingMultiplier
+					|| lineSpacingExtra != other.lineSpacingExtra
+					|| collapsedLines != other.collapsedLines
+					|| typeface != other.typeface) {
+				return false;
+			}
+
+			if (text instanceof Spanned || other.text instanceof Spanned) {
+				return text == other.text;
+			}
+
+			return TextUtils.equals(text, other.text);
+		}
+
+		/**
+		 * Compares this key with the given values without allocating a key.
+		 * The text is compared by identity, so an equal text, which is
+		 * another instance, does not match.
+		 * 
+		 * @return true, if this key describes the same layouts
+		 */
+		boolean matches(final CharSequence text, final int width,
+				final float textSize, final Typeface typeface,
+				final float lineSpacingMultiplier,
+				final float lineSpacingExtra, final int collapsedLines) {
+			return this.text == text && this.width == width
+					&& this.textSize == textSize && this.typeface == typeface
+					&& this.lineSpacingMultiplier == lineSpacingMultiplier
+					&& this.lineSpacingExtra == lineSpacingExtra
+					&& this.collapsedLines == collapsedLines;
+		}
+
+		@Override
+		public int hashCode() {
+			return mHashCode;
+		}
+	}
+
+	static Layouts get(final Key key) {
+		return sLayouts.get(key);
+	}
+
+	static void put(final Key key, final Layouts layouts) {
+		sLayouts.put(key, layouts);
+
+		Log.v(TAG, "[put] count=" + sLayouts.size());
+	}
+
+	/**
+	 * Runs the given task on the background thread of this cache.
+	 * 
+	 * @param task
+	 */
+	static synchronized void execute(final Runnable task) {
+		if (sExecutor == null) {
+			sExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+
+				@Override
+				public Thread newThread(final Runnable r) {
+					return new Thread(new Runnable() {
+
+						@Override
+						public void run() {
+							Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+							r.run();
+						}
+					}, TAG);
+				}
+			});
+		}
+
+		sExecutor.execute(task);
+	}
+
+	/**
+	 * Sets the maximum number of cached layout pairs.
+	 * 
+	 * @param maxEntries
+	 *            number of entries, 0 disables caching
+	 */
+	public static void setMaxEntries(final int maxEntries) {
+		if (maxEntries < 0) {
+			throw new IllegalArgumentException("maxEntries must be >= 0");
+		}
+
+		sMaxEntries = maxEntries;
+
+		while (sLayouts.size() > maxEntries) {
+			sLayouts.remove(sLayouts.keySet().iterator().next());
+		}
+	}
+
+	public static int getMaxEntries() {
+		return sMaxEntries;
+	}
+
+	/**
+	 * Removes all cached layouts. Call this e.g. in <code>onLowMemory()</code>.
+	 */
+	public static void clear() {
+		sLayouts.clear();
+	}
+
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) 2012 Andreas Zeiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andreaszeiser.jalousie.animation;
+
+import java.util.ArrayList;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.Choreographer;
+
+/**
+ * Delivers animation frames to all running jalousie animations. On Jelly
+ * Bean and later, frames are driven by the display's vsync through
+ * {@link Choreographer}. On older API levels, a Handler on the main thread
+ * posts frames in a fixed interval.
+ * 
+ * All callbacks share a single platform callback per frame. Callbacks are
+ * one-shot, so a callback has to post itself again to receive the next
+ * frame.
+ * 
+ * Must only be used from the main thread.
+ * 
+ * @author Andreas Zeiser
+ * 
+ */
+public final class FrameScheduler {
+
+	/**
+	 * Receives the next animation frame.
+	 */
+	public interface FrameCallback {
+
+		/**
+		 * @param frameTime
+		 *            time of this frame in ms. Only differences between frame
+		 *            times are meaningful, the time base depends on the API
+		 *            level.
+		 */
+		public void doFrame(final long frameTime);
+	}
+
+	/**
+	 * Requests a single platform frame.
+	 */
+	private interface Ticker {
+
+		public void schedule();
+	}
+
+	/**
+	 * Interval between two frames in ms, if there is no Choreographer.
+	 */
+	private static final long FALLBACK_FRAME_DELAY = 16;
+
+	private static FrameScheduler sInstance;
+
+	private final ArrayList<FrameCallback> mCallbacks = new ArrayList<FrameCallback>();
+
+	/**
+	 * Callbacks of the frame, which is dispatched right now. Entries are set
+	 * to <code>null</code>, if they are removed during dispatching.
+	 */
+	private final ArrayList<FrameCallback> mDispatching = new ArrayList<FrameCallback>();
+
+	private final Ticker mTicker;
+
+	/**
+	 * True, if a platform frame is requested.
+	 */
+	private boolean mScheduled = false;
+
+	private FrameScheduler() {
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+			mTicker = new ChoreographerTicker(this);
+		} else {
+			mTicker = new HandlerTicker(this);
+		}
+	}
+
+	/**
+	 * @return the scheduler of the main thread
+	 */
+	public static FrameScheduler getInstance() {
+		if (sInstance == null) {
+			sInstance = new FrameScheduler();
+		}
+
+		return sInstance;
+	}
+
+	/**
+	 * Lets the given callback receive the next frame. Posting a callback,
+	 * which is already waiting for the next frame, has no effect.
+	 * 
+	 * @param callback
+	 */
+	public void postFrameCallback(final FrameCallback callback) {
+		if (!mCallbacks.contains(callback)) {
+			mCallbacks.add(callback);
+		}
+
+		if (!mScheduled) {
+			mScheduled = true;
+			mTicker.schedule();
+		}
+	}
+
+	/**
+	 * Removes the given callback, so that it does not receive the next frame.
+	 * 
+	 * @param callback
+	 */
+	public void removeFrameCallback(final FrameCallback callback) {
+		mCallbacks.remove(callback);
+
+		final int index = mDispatching.indexOf(callback);
+		if (index >= 0) {
+			mDispatching.set(index, null);
+		}
+	}
+
+	private void doFrame(final long frameTime) {
+		mScheduled = false;
+
+		// callbacks, which post themselves again, go into mCallbacks for the
+		// next frame
+		mDispatching.addAll(mCallbacks);
+		mCallbacks.clear();
+
+		final int size = mDispatching.size();
+		FrameCallback callback;
+		for (int i = 0; i < size; i++) {
+			callback = mDispatching.get(i);
+
+			if (callback != null) {
+				callback.doFrame(frameTime);
+			}
+		}
+
+		mDispatching.clear();
+	}
+
+	/**
+	 * Frames aligned to the display's vsync.
+	 */
+	@TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+	private static final class ChoreographerTicker implements Ticker,
+			Choreographer.FrameCallback {
+
+		private final FrameScheduler mScheduler;
+
+		private final Choreographer mChoreographer = Choreographer
+				.getInstance();
+
+		ChoreographerTicker(final FrameScheduler scheduler) {
+			mScheduler = scheduler;
+		}
+
+		@Override
+		public void schedule() {
+			mChoreographer.postFrameCallback(this);
+		}
+
+		@Override
+		public void doFrame(final long frameTimeNanos) {
+			mScheduler.doFrame(frameTimeNanos / 1000000);
+		}
+	}
+
+	/**
+	 * Frames in a fixed interval for API levels without Choreographer.
+	 */
+	private static final class HandlerTicker implements Ticker, Runnable {
+
+		private final FrameScheduler mScheduler;
+
+		private final Handler mHandler = new Handler(Looper.getMainLooper());
+
+		/**
+		 * Time of the last frame in ms.
+		 */
+		private long mLastFrameTime;
+
+		HandlerTicker(final FrameScheduler scheduler) {
+			mScheduler = scheduler;
+		}
+
+		@Override
+		public void schedule() {
+			final long delay = mLastFrameTime + FALLBACK_FRAME_DELAY
+					- SystemClock.uptimeMillis();
+
+			mHandler.postDelayed(this, Math.max(delay, 0));
+		}
+
+		@Override
+		public void run() {
+			mLastFrameTime = SystemClock.uptimeMillis();
+
+			mScheduler.doFrame(mLastFrameTime);
+		}
+	}
+
+}
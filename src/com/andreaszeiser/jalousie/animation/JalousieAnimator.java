@@ -0,0 +1,255 @@
+/*
+ * Copyright (C) 2012 Andreas Zeiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andreaszeiser.jalousie.animation;
+
+import android.view.animation.Interpolator;
+
+/**
+ * A lightweight animator, which animates a fraction from 0 to 1 within a
+ * given duration. Frames are delivered by the {@link FrameScheduler}.
+ * 
+ * The callbacks follow the semantics of the framework's animators: the start
+ * callback and the first update are delivered synchronously from
+ * {@link #start()}, and the end callback is delivered after the last frame
+ * as well as after {@link #cancel()} or {@link #end()}. It is safe to call
+ * {@link #cancel()} or {@link #end()} from within a callback.
+ * 
+ * @author Andreas Zeiser
+ * 
+ */
+public class JalousieAnimator implements FrameScheduler.FrameCallback {
+
+	/**
+	 * Receives the events of an animator.
+	 */
+	public interface Listener {
+
+		public void onAnimationStart(final JalousieAnimator animator);
+
+		/**
+		 * @param animator
+		 * @param fraction
+		 *            the interpolated fraction of this frame
+		 */
+		public void onAnimationUpdate(final JalousieAnimator animator,
+				final float fraction);
+
+		public void onAnimationEnd(final JalousieAnimator animator);
+	}
+
+	private long mDuration = 300;
+
+	/**
+	 * Is <code>null</code> for a linear animation.
+	 */
+	private Interpolator mInterpolator;
+
+	private Listener mListener;
+
+	private boolean mRunning = false;
+
+	/**
+	 * True, if the last run was stopped by {@link #cancel()}.
+	 */
+	private boolean mCancelled = false;
+
+	/**
+	 * Time of the first frame or -1, if the first frame was not delivered
+	 * yet.
+	 */
+	private long mStartTime = -1;
+
+	/**
+	 * Time of the frame, which is delivered right now or was delivered last,
+	 * or -1, if no frame was delivered yet.
+	 */
+	private long mFrameTime = -1;
+
+	/**
+	 * Interpolated fraction of the last frame.
+	 */
+	private float mFraction;
+
+	/**
+	 * @param duration
+	 *            duration in ms
+	 */
+	public void setDuration(final long duration) {
+		mDuration = duration;
+	}
+
+	public long getDuration() {
+		return mDuration;
+	}
+
+	/**
+	 * @param interpolator
+	 *            the interpolator or <code>null</code> for a linear animation
+	 */
+	public void setInterpolator(final Interpolator interpolator) {
+		mInterpolator = interpolator;
+	}
+
+	public void setListener(final Listener listener) {
+		mListener = listener;
+	}
+
+	public boolean isRunning() {
+		return mRunning;
+	}
+
+	/**
+	 * @return true, if the last run was stopped by {@link #cancel()} instead
+	 *         of reaching its end; may be queried from the end callback
+	 */
+	public boolean isCancelled() {
+		return mCancelled;
+	}
+
+	/**
+	 * @return the interpolated fraction of the last frame
+	 */
+	public float getAnimatedFraction() {
+		return mFraction;
+	}
+
+	/**
+	 * @return time of the current or last frame in ms, as passed by the
+	 *         {@link FrameScheduler}, or -1 for the update, which is
+	 *         delivered right on start
+	 */
+	public long getFrameTime() {
+		return mFrameTime;
+	}
+
+	/**
+	 * Starts this animator. A running animation is cancelled before.
+	 */
+	public void start() {
+		cancel();
+
+		mRunning = true;
+		mCancelled = false;
+		mStartTime = -1;
+		mFrameTime = -1;
+		mFraction = interpolate(0f);
+
+		if (mListener != null) {
+			mListener.onAnimationStart(this);
+
+			if (!mRunning) {
+				return;
+			}
+
+			mListener.onAnimationUpdate(this, mFraction);
+
+			if (!mRunning) {
+				return;
+			}
+		}
+
+		FrameScheduler.getInstance().postFrameCallback(this);
+	}
+
+	/**
+	 * Stops this animator at its current fraction.
+	 */
+	public void cancel() {
+		if (!mRunning) {
+			return;
+		}
+
+		FrameScheduler.getInstance().removeFrameCallback(this);
+		mRunning = false;
+		mCancelled = true;
+
+		if (mListener != null) {
+			mListener.onAnimationEnd(this);
+		}
+	}
+
+	/**
+	 * Stops this animator and applies its end state.
+	 */
+	public void end() {
+		if (!mRunning) {
+			return;
+		}
+
+		FrameScheduler.getInstance().removeFrameCallback(this);
+		finish();
+	}
+
+	@Override
+	public void doFrame(final long frameTime) {
+		if (!mRunning) {
+			return;
+		}
+
+		mFrameTime = frameTime;
+
+		if (mStartTime < 0) {
+			mStartTime = frameTime;
+		}
+
+		final float linearFraction = (mDuration > 0) ? Math.min(1f,
+				(float) (frameTime - mStartTime) / mDuration) : 1f;
+
+		if (linearFraction >= 1f) {
+			finish();
+			return;
+		}
+
+		mFraction = interpolate(linearFraction);
+
+		if (mListener != null) {
+			mListener.onAnimationUpdate(this, mFraction);
+		}
+
+		if (mRunning) {
+			FrameScheduler.getInstance().postFrameCallback(this);
+		}
+	}
+
+	/**
+	 * Delivers the last frame and ends this animator.
+	 */
+	private void finish() {
+		mFraction = interpolate(1f);
+
+		if (mListener != null) {
+			mListener.onAnimationUpdate(this, mFraction);
+		}
+
+		if (!mRunning) {
+			// cancelled from within the last update
+			return;
+		}
+
+		mRunning = false;
+
+		if (mListener != null) {
+			mListener.onAnimationEnd(this);
+		}
+	}
+
+	private float interpolate(final float fraction) {
+		return (mInterpolator != null) ? mInterpolator
+				.getInterpolation(fraction) : fraction;
+	}
+
+}
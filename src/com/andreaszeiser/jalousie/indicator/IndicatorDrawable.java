@@ -0,0 +1,258 @@
+/*
+ * Copyright (C) 2012 Andreas Zeiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andreaszeiser.jalousie.indicator;
+
+import android.content.res.Resources;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+
+import com.andreaszeiser.jalousie.Jalousie;
+
+/**
+ * A resolution independent chevron, which is drawn on the canvas. The chevron
+ * morphs continuously between the expand glyph (pointing down or right) and
+ * the collapse glyph (pointing up or left), controlled by a fraction between
+ * 0 and 1.
+ * 
+ * The fraction can be set either with {@link #setFraction(float)} or through
+ * the drawable's level, where level 0 means fraction 0 and level 10000 means
+ * fraction 1.
+ * 
+ * Drawing reuses a single path, so no objects are allocated per frame.
+ * 
+ * @author Andreas Zeiser
+ * 
+ */
+public class IndicatorDrawable extends Drawable {
+
+	/**
+	 * Default intrinsic size in dp.
+	 */
+	private static final int DEFAULT_SIZE = 24;
+
+	/**
+	 * Default width of the stroke in dp.
+	 */
+	private static final int DEFAULT_STROKE_WIDTH = 2;
+
+	/**
+	 * Default color of the chevron.
+	 */
+	public static final int DEFAULT_COLOR = 0xff333333;
+
+	/**
+	 * Maximum level of a drawable.
+	 */
+	private static final int MAX_LEVEL = 10000;
+
+	private final Paint mPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+	/**
+	 * The chevron, which is rewound and refilled on each change of the
+	 * fraction or bounds.
+	 */
+	private final Path mPath = new Path();
+
+	/**
+	 * Intrinsic width and height in pixels.
+	 */
+	private final int mIntrinsicSize;
+
+	/**
+	 * Either {@link Jalousie#GRAVITY_VERTICAL} (down / up) or
+	 * {@link Jalousie#GRAVITY_HORIZONTAL} (right / left).
+	 */
+	private int mGravity = Jalousie.GRAVITY_VERTICAL;
+
+	/**
+	 * 0 shows the expand glyph, 1 the collapse glyph.
+	 */
+	private float mFraction = 0f;
+
+	/**
+	 * True, if {@link #mPath} has to be rebuilt before drawing.
+	 */
+	private boolean mPathDirty = true;
+
+	public IndicatorDrawable(final Resources resources) {
+		final float density = resources.getDisplayMetrics().density;
+
+		mIntrinsicSize = (int) (DEFAULT_SIZE * density + 0.5f);
+
+		mPaint.setColor(DEFAULT_COLOR);
+		mPaint.setStyle(Paint.Style.STROKE);
+		mPaint.setStrokeCap(Paint.Cap.ROUND);
+		mPaint.setStrokeJoin(Paint.Join.ROUND);
+		mPaint.setStrokeWidth(DEFAULT_STROKE_WIDTH * density);
+	}
+
+	/**
+	 * Sets the morph fraction of the chevron.
+	 * 
+	 * @param fraction
+	 *            0 for the expand glyph, 1 for the collapse glyph, values in
+	 *            between morph the chevron
+	 */
+	public void setFraction(float fraction) {
+		fraction = Math.max(0f, Math.min(1f, fraction));
+
+		if (fraction == mFraction) {
+			return;
+		}
+
+		mFraction = fraction;
+		mPathDirty = true;
+
+		invalidateSelf();
+	}
+
+	public float getFraction() {
+		return mFraction;
+	}
+
+	/**
+	 * Sets the direction of the chevron.
+	 * 
+	 * @param gravity
+	 *            {@link Jalousie#GRAVITY_VERTICAL} for a chevron pointing down
+	 *            / up or {@link Jalousie#GRAVITY_HORIZONTAL} for a chevron
+	 *            pointing right / left
+	 */
+	public void setGravity(final int gravity) {
+		mGravity = gravity;
+		mPathDirty = true;
+
+		invalidateSelf();
+	}
+
+	public int getGravity() {
+		return mGravity;
+	}
+
+	public void setColor(final int color) {
+		mPaint.setColor(color);
+
+		invalidateSelf();
+	}
+
+	public int getColor() {
+		return mPaint.getColor();
+	}
+
+	/**
+	 * @param strokeWidth
+	 *            width of the stroke in pixels
+	 */
+	public void setStrokeWidth(final float strokeWidth) {
+		mPaint.setStrokeWidth(strokeWidth);
+
+		invalidateSelf();
+	}
+
+	public float getStrokeWidth() {
+		return mPaint.getStrokeWidth();
+	}
+
+	@Override
+	protected boolean onLevelChange(final int level) {
+		final float oldFraction = mFraction;
+
+		setFraction((float) level / MAX_LEVEL);
+
+		return oldFraction != mFraction;
+	}
+
+	@Override
+	protected void onBoundsChange(final Rect bounds) {
+		super.onBoundsChange(bounds);
+
+		mPathDirty = true;
+	}
+
+	@Override
+	public void draw(final Canvas canvas) {
+		if (mPathDirty) {
+			mPathDirty = false;
+
+			buildPath();
+		}
+
+		canvas.drawPath(mPath, mPaint);
+	}
+
+	/**
+	 * Refills the path with the chevron for the current fraction and bounds.
+	 * The tip of the chevron moves linearly from one side to the other, so
+	 * that the chevron is a flat line at a fraction of 0.5.
+	 */
+	private void buildPath() {
+		final Rect bounds = getBounds();
+		final float centerX = bounds.exactCenterX();
+		final float centerY = bounds.exactCenterY();
+
+		// half of the chevron's span and half of its depth
+		final float span = Math.min(bounds.width(), bounds.height()) / 4f;
+		final float depth = span / 2f * (1f - 2f * mFraction);
+
+		mPath.rewind();
+
+		if (mGravity == Jalousie.GRAVITY_HORIZONTAL) {
+			mPath.moveTo(centerX - depth, centerY - span);
+			mPath.lineTo(centerX + depth, centerY);
+			mPath.lineTo(centerX - depth, centerY + span);
+		} else {
+			mPath.moveTo(centerX - span, centerY - depth);
+			mPath.lineTo(centerX, centerY + depth);
+			mPath.lineTo(centerX + span, centerY - depth);
+		}
+	}
+
+	@Override
+	public int getIntrinsicWidth() {
+		return mIntrinsicSize;
+	}
+
+	@Override
+	public int getIntrinsicHeight() {
+		return mIntrinsicSize;
+	}
+
+	@Override
+	public void setAlpha(final int alpha) {
+		mPaint.setAlpha(alpha);
+
+		invalidateSelf();
+	}
+
+	@Override
+	public void setColorFilter(final ColorFilter cf) {
+		mPaint.setColorFilter(cf);
+
+		invalidateSelf();
+	}
+
+	@Override
+	public int getOpacity() {
+		return PixelFormat.TRANSLUCENT;
+	}
+
+}
@@ -1,170 +1,327 @@
-/*
- * Copyright (C) 2012 Andreas Zeiser
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *      http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-
-package com.andreaszeiser.jalousie.indicator;
-
-import android.content.Context;
-import android.content.res.TypedArray;
-import android.graphics.drawable.Drawable;
-import android.util.AttributeSet;
-import android.view.View;
-import android.widget.ImageView;
-
-import com.andreaszeiser.jalousie.R;
-
-/**
- * An ImageView class which implements the IndicatorElement interface for
- * indicating the state of a Jalousie component.
- * 
- * Currently, this class supports two defined XML attributes: <br />
- * - expandIndicator and <br />
- * - collapseIndicator
- * 
- * @author Andreas Zeiser
- * 
- */
-public class IndicatorImage extends ImageView implements IndicatorElement {
-
-	private static final String TAG = IndicatorImage.class.getSimpleName();
-
-	/**
-	 * Indicates the state of this view. Default state is collapsed state.
-	 */
-	private int mState = IndicatorElement.STATE_COLLAPSED;
-
-	/**
-	 * If the state of this view is expanded, this drawable will be shown.
-	 * 
-	 * @see #mState
-	 */
-	private Drawable mExpandIndicator;
-
-	/**
-	 * If the state of this view is collapsed, this drawable will be shown.
-	 * 
-	 * @see #mState
-	 */
-	private Drawable mCollapseIndicator;
-
-	public IndicatorImage(Context context, AttributeSet attrs, int defStyle) {
-		super(context, attrs, defStyle);
-
-		init(context, attrs);
-	}
-
-	public IndicatorImage(Context context, AttributeSet attrs) {
-		super(context, attrs);
-
-		init(context, attrs);
-	}
-
-	public IndicatorImage(Context context) {
-		super(context);
-
-		init(context, null);
-	}
-
-	/**
-	 * Should only be called from constructor.
-	 */
-	private void init(final Context context, final AttributeSet attrs) {
-		if (attrs != null) {
-			TypedArray a = context.getTheme().obtainStyledAttributes(attrs,
-					R.styleable.Indicator, 0, 0);
-
-			try {
-				mExpandIndicator = a
-						.getDrawable(R.styleable.Indicator_expandIndicator);
-				if (mExpandIndicator == null) {
-					mExpandIndicator = getResources().getDrawable(
-							R.drawable.ic_down);
-				}
-
-				mCollapseIndicator = a
-						.getDrawable(R.styleable.Indicator_collapseIndicator);
-				if (mCollapseIndicator == null) {
-					mCollapseIndicator = getResources().getDrawable(
-							R.drawable.ic_up);
-				}
-			} finally {
-				a.recycle();
-			}
-		} else {
-			setDefaults();
-		}
-
-		// set indicator
-		setImageDrawable(mExpandIndicator);
-	}
-
-	private void setDefaults() {
-		mExpandIndicator = getResources().getDrawable(R.drawable.ic_down);
-		mCollapseIndicator = getResources().getDrawable(R.drawable.ic_up);
-	}
-
-	@Override
-	public int getState() {
-		return mState;
-	}
-
-	@Override
-	public void setState(int indicatorState) {
-		switch (indicatorState) {
-		case IndicatorElement.STATE_COLLAPSED:
-
-			setImageDrawable(mCollapseIndicator);
-
-			mState = IndicatorElement.STATE_COLLAPSED;
-			break;
-
-		case IndicatorElement.STATE_EXPANDED:
-
-			setImageDrawable(mExpandIndicator);
-
-			mState = IndicatorElement.STATE_EXPANDED;
-			break;
-
-		default:
-			break;
-		}
-	}
-
-	@Override
-	public void show() {
-		setVisibility(View.VISIBLE);
-	}
-
-	@Override
-	public void hide() {
-		setVisibility(View.GONE);
-	}
-
-	public void setExpandIndicator(final Drawable expandIndicator) {
-		mExpandIndicator = expandIndicator;
-
-		if (mState == IndicatorElement.STATE_EXPANDED) {
-			setImageDrawable(mExpandIndicator);
-		}
-	}
-
-	public void setCollapseIndicator(final Drawable collapseIndicator) {
-		mCollapseIndicator = collapseIndicator;
-
-		if (mState == IndicatorElement.STATE_COLLAPSED) {
-			setImageDrawable(mCollapseIndicator);
-		}
-	}
-}
+/*
+ * Copyright (C) 2012 Andreas Zeiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andreaszeiser.jalousie.indicator;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.drawable.Drawable;
+import android.util.AttributeSet;
+import android.view.View;
+import android.widget.ImageView;
+
+import com.andreaszeiser.jalousie.Jalousie;
+import com.andreaszeiser.jalousie.JalousieDelegate;
+import com.andreaszeiser.jalousie.R;
+import com.andreaszeiser.jalousie.animation.JalousieAnimator;
+import com.andreaszeiser.jalousie.interpolator.Interpolators;
+
+/**
+ * An ImageView class which implements the IndicatorElement interface for
+ * indicating the state of a Jalousie component.
+ * 
+ * Currently, this class supports these defined XML attributes: <br />
+ * - expandIndicator, <br />
+ * - collapseIndicator, <br />
+ * - indicatorColor, <br />
+ * - indicatorStrokeWidth and <br />
+ * - contentGravity
+ * 
+ * If neither expandIndicator nor collapseIndicator is defined, a single
+ * {@link IndicatorDrawable} is shown, which morphs between both glyphs on a
+ * state change.
+ * 
+ * @author Andreas Zeiser
+ * 
+ */
+public class IndicatorImage extends ImageView implements IndicatorElement {
+
+	private static final String TAG = IndicatorImage.class.getSimpleName();
+
+	/**
+	 * Indicates the state of this view. Default state is collapsed state.
+	 */
+	private int mState = IndicatorElement.STATE_COLLAPSED;
+
+	/**
+	 * If the state of this view is expanded, this drawable will be shown.
+	 * 
+	 * @see #mState
+	 */
+	private Drawable mExpandIndicator;
+
+	/**
+	 * If the state of this view is collapsed, this drawable will be shown.
+	 * 
+	 * @see #mState
+	 */
+	private Drawable mCollapseIndicator;
+
+	/**
+	 * If no custom drawables are defined, this drawable is used for both
+	 * states, otherwise it is <code>null</code>.
+	 */
+	private IndicatorDrawable mMorphIndicator;
+
+	/**
+	 * Animates the fraction of {@link #mMorphIndicator} on a state change.
+	 */
+	private JalousieAnimator mMorphAnimator;
+
+	/**
+	 * Fractions of {@link #mMorphIndicator} at the start and the end of the
+	 * running morph animation.
+	 */
+	private float mMorphFrom;
+
+	private float mMorphTo;
+
+	public IndicatorImage(Context context, AttributeSet attrs, int defStyle) {
+		super(context, attrs, defStyle);
+
+		init(context, attrs);
+	}
+
+	public IndicatorImage(Context context, AttributeSet attrs) {
+		super(context, attrs);
+
+		init(context, attrs);
+	}
+
+	public IndicatorImage(Context context) {
+		super(context);
+
+		init(context, null);
+	}
+
+	/**
+	 * Should only be called from constructor.
+	 */
+	private void init(final Context context, final AttributeSet attrs) {
+		int color = IndicatorDrawable.DEFAULT_COLOR;
+		float strokeWidth = -1;
+		int gravity = Jalousie.GRAVITY_VERTICAL;
+
+		if (attrs != null) {
+			TypedArray a = context.getTheme().obtainStyledAttributes(attrs,
+					R.styleable.Indicator, 0, 0);
+
+			try {
+				mExpandIndicator = a
+						.getDrawable(R.styleable.Indicator_expandIndicator);
+				mCollapseIndicator = a
+						.getDrawable(R.styleable.Indicator_collapseIndicator);
+
+				color = a.getColor(R.styleable.Indicator_indicatorColor, color);
+				strokeWidth = a.getDimension(
+						R.styleable.Indicator_indicatorStrokeWidth, strokeWidth);
+				gravity = a.getInt(R.styleable.Indicator_contentGravity,
+						gravity);
+			} finally {
+				a.recycle();
+			}
+		}
+
+		if (mExpandIndicator == null && mCollapseIndicator == null) {
+			// one drawable, which morphs between both states
+			mMorphIndicator = createIndicatorDrawable(0f, color, strokeWidth,
+					gravity);
+			mExpandIndicator = mMorphIndicator;
+			mCollapseIndicator = mMorphIndicator;
+		} else {
+			if (mExpandIndicator == null) {
+				mExpandIndicator = createIndicatorDrawable(0f, color,
+						strokeWidth, gravity);
+			}
+
+			if (mCollapseIndicator == null) {
+				mCollapseIndicator = createIndicatorDrawable(1f, color,
+						strokeWidth, gravity);
+			}
+		}
+
+		// set indicator
+		setImageDrawable(mExpandIndicator);
+	}
+
+	private IndicatorDrawable createIndicatorDrawable(final float fraction,
+			final int color, final float strokeWidth, final int gravity) {
+		final IndicatorDrawable drawable = new IndicatorDrawable(getResources());
+		drawable.setFraction(fraction);
+		drawable.setColor(color);
+		drawable.setGravity(gravity);
+		if (strokeWidth >= 0) {
+			drawable.setStrokeWidth(strokeWidth);
+		}
+
+		return drawable;
+	}
+
+	@Override
+	public int getState() {
+		return mState;
+	}
+
+	@Override
+	public void setState(int indicatorState) {
+		switch (indicatorState) {
+		case IndicatorElement.STATE_COLLAPSED:
+
+			if (mMorphIndicator != null) {
+				morphTo(1f);
+			} else {
+				setImageDrawable(mCollapseIndicator);
+			}
+
+			mState = IndicatorElement.STATE_COLLAPSED;
+			break;
+
+		case IndicatorElement.STATE_EXPANDED:
+
+			if (mMorphIndicator != null) {
+				morphTo(0f);
+			} else {
+				setImageDrawable(mExpandIndicator);
+			}
+
+			mState = IndicatorElement.STATE_EXPANDED;
+			break;
+
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Animates the morphing indicator from its current fraction to the given
+	 * one.
+	 */
+	private void morphTo(final float fraction) {
+		if (mMorphAnimator != null) {
+			mMorphAnimator.cancel();
+		}
+
+		if (getWindowToken() == null || getVisibility() != View.VISIBLE) {
+			mMorphIndicator.setFraction(fraction);
+			return;
+		}
+
+		if (mMorphAnimator == null) {
+			mMorphAnimator = new JalousieAnimator();
+			mMorphAnimator.setDuration(JalousieDelegate.DEFAULT_ANIMATION_DURATION);
+			mMorphAnimator.setInterpolator(Interpolators.ACCELERATE_DECELERATE);
+			mMorphAnimator.setListener(new JalousieAnimator.Listener() {
+
+				@Override
+				public void onAnimationStart(JalousieAnimator animator) {
+				}
+
+				@Override
+				public void onAnimationUpdate(JalousieAnimator animator,
+						float fraction) {
+					mMorphIndicator.setFraction(mMorphFrom
+							+ (mMorphTo - mMorphFrom) * fraction);
+				}
+
+				@Override
+				public void onAnimationEnd(JalousieAnimator animator) {
+				}
+			});
+		}
+
+		mMorphFrom = mMorphIndicator.getFraction();
+		mMorphTo = fraction;
+		mMorphAnimator.start();
+	}
+
+	/**
+	 * Sets the fraction of the morphing indicator directly, e.g. to follow the
+	 * progress of a running expand or collapse. Has no effect, if custom
+	 * drawables are used.
+	 * 
+	 * @param fraction
+	 *            0 for the expand glyph, 1 for the collapse glyph
+	 */
+	public void setIndicatorFraction(final float fraction) {
+		if (mMorphIndicator == null) {
+			return;
+		}
+
+		if (mMorphAnimator != null) {
+			mMorphAnimator.cancel();
+		}
+
+		mMorphIndicator.setFraction(fraction);
+	}
+
+	@Override
+	public void show() {
+		setVisibility(View.VISIBLE);
+	}
+
+	@Override
+	public void hide() {
+		setVisibility(View.GONE);
+	}
+
+	public void setExpandIndicator(final Drawable expandIndicator) {
+		stopMorphing();
+
+		mExpandIndicator = expandIndicator;
+
+		if (mState == IndicatorElement.STATE_EXPANDED) {
+			setImageDrawable(mExpandIndicator);
+		}
+	}
+
+	public void setCollapseIndicator(final Drawable collapseIndicator) {
+		stopMorphing();
+
+		mCollapseIndicator = collapseIndicator;
+
+		if (mState == IndicatorElement.STATE_COLLAPSED) {
+			setImageDrawable(mCollapseIndicator);
+		}
+	}
+
+	/**
+	 * Replaces the morphing indicator by two separate drawables, so that
+	 * custom drawables can be set for one of both states.
+	 */
+	private void stopMorphing() {
+		if (mMorphIndicator == null) {
+			return;
+		}
+
+		if (mMorphAnimator != null) {
+			mMorphAnimator.cancel();
+		}
+
+		final IndicatorDrawable morphIndicator = mMorphIndicator;
+		mMorphIndicator = null;
+
+		mExpandIndicator = createIndicatorDrawable(0f,
+				morphIndicator.getColor(), morphIndicator.getStrokeWidth(),
+				morphIndicator.getGravity());
+		mCollapseIndicator = createIndicatorDrawable(1f,
+				morphIndicator.getColor(), morphIndicator.getStrokeWidth(),
+				morphIndicator.getGravity());
+
+		// keep showing the glyph, which the morphing indicator was closer to
+		setImageDrawable((morphIndicator.getFraction() < 0.5f) ? mExpandIndicator
+				: mCollapseIndicator);
+	}
+}
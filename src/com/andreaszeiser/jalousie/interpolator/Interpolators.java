@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2012 Andreas Zeiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andreaszeiser.jalousie.interpolator;
+
+import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.animation.Interpolator;
+
+/**
+ * Ready to use lookup table interpolators and a factory for cubic bezier
+ * curves, as they are used by design specifications, e.g.
+ * <code>cubic-bezier(0.4, 0, 0.2, 1)</code>.
+ * 
+ * All curves are sampled once, when they are created, so animations only pay
+ * for a table lookup per frame.
+ * 
+ * @author Andreas Zeiser
+ * 
+ */
+public final class Interpolators {
+
+	/**
+	 * Same curve as {@link AccelerateDecelerateInterpolator}, without its
+	 * trigonometric function on each frame.
+	 */
+	public static final Interpolator ACCELERATE_DECELERATE = LookupTableInterpolator
+			.sample(new AccelerateDecelerateInterpolator());
+
+	/**
+	 * <code>cubic-bezier(0.4, 0, 0.2, 1)</code>, which accelerates quickly
+	 * and decelerates slowly.
+	 */
+	public static final Interpolator FAST_OUT_SLOW_IN = cubicBezier(0.4f, 0f,
+			0.2f, 1f);
+
+	/**
+	 * <code>cubic-bezier(0, 0, 0.2, 1)</code>, which starts at full speed
+	 * and decelerates slowly.
+	 */
+	public static final Interpolator LINEAR_OUT_SLOW_IN = cubicBezier(0f, 0f,
+			0.2f, 1f);
+
+	/**
+	 * <code>cubic-bezier(0.4, 0, 1, 1)</code>, which accelerates quickly and
+	 * ends at full speed.
+	 */
+	public static final Interpolator FAST_OUT_LINEAR_IN = cubicBezier(0.4f,
+			0f, 1f, 1f);
+
+	/**
+	 * Maximum number of newton iterations per sample.
+	 */
+	private static final int NEWTON_ITERATIONS = 8;
+
+	/**
+	 * Precision of the curve parameter, which is searched for each sample.
+	 */
+	private static final float EPSILON = 1e-6f;
+
+	private Interpolators() {
+	}
+
+	/**
+	 * Creates an interpolator for the cubic bezier curve from (0, 0) to (1, 1)
+	 * with the given control points, sampled with
+	 * {@value LookupTableInterpolator#DEFAULT_SAMPLE_COUNT} samples.
+	 * 
+	 * @param x1
+	 *            x of the first control point, between 0 and 1
+	 * @param y1
+	 *            y of the first control point
+	 * @param x2
+	 *            x of the second control point, between 0 and 1
+	 * @param y2
+	 *            y of the second control point
+	 * @return the new interpolator
+	 */
+	public static LookupTableInterpolator cubicBezier(final float x1,
+			final float y1, final float x2, final float y2) {
+		return cubicBezier(x1, y1, x2, y2,
+				LookupTableInterpolator.DEFAULT_SAMPLE_COUNT);
+	}
+
+	/**
+	 * Creates an interpolator for the cubic bezier curve from (0, 0) to (1, 1)
+	 * with the given control points.
+	 * 
+	 * @param sampleCount
+	 *            number of samples of the lookup table, at least two
+	 * @see #cubicBezier(float, float, float, float)
+	 */
+	public static LookupTableInterpolator cubicBezier(final float x1,
+			final float y1, final float x2, final float y2,
+			final int sampleCount) {
+		if (x1 < 0f || x1 > 1f || x2 < 0f || x2 > 1f) {
+			throw new IllegalArgumentException(
+					"x values of the control points must be between 0 and 1");
+		}
+
+		if (sampleCount < 2) {
+			throw new IllegalArgumentException(
+					"at least two samples are required");
+		}
+
+		final float[] values = new float[sampleCount];
+		final float step = 1f / (sampleCount - 1);
+
+		for (int i = 0; i < sampleCount; i++) {
+			final float t = solveCurveX(i * step, x1, x2);
+			values[i] = bezier(t, y1, y2);
+		}
+
+		values[0] = 0f;
+		values[sampleCount - 1] = 1f;
+
+		return new LookupTableInterpolator(values);
+	}
+
+	/**
+	 * Evaluates one coordinate of the bezier curve, whose end points are 0
+	 * and 1, at the given curve parameter.
+	 */
+	private static float bezier(final float t, final float p1, final float p2) {
+		final float u = 1f - t;
+
+		return 3f * u * u * t * p1 + 3f * u * t * t * p2 + t * t * t;
+	}
+
+	/**
+	 * Derivative of {@link #bezier(float, float, float)} by t.
+	 */
+	private static float bezierDerivative(final float t, final float p1,
+			final float p2) {
+		final float u = 1f - t;
+
+		return 3f * u * u * p1 + 6f * u * t * (p2 - p1) + 3f * t * t
+				* (1f - p2);
+	}
+
+	/**
+	 * Finds the curve parameter t, at which the x coordinate of the curve
+	 * equals the given x. Uses newton's method and falls back to bisection,
+	 * if it does not converge. Since x1 and x2 are between 0 and 1, x(t) is
+	 * monotonic.
+	 */
+	private static float solveCurveX(final float x, final float x1,
+			final float x2) {
+		float t = x;
+
+		for (int i = 0; i < NEWTON_ITERATIONS; i++) {
+			final float error = bezier(t, x1, x2) - x;
+			if (Math.abs(error) < EPSILON) {
+				return t;
+			}
+
+			final float slope = bezierDerivative(t, x1, x2);
+			if (Math.abs(slope) < EPSILON) {
+				break;
+			}
+
+			t = Math.max(0f, Math.min(1f, t - error / slope));
+		}
+
+		float low = 0f;
+		float high = 1f;
+		t = x;
+
+		while (high - low > EPSILON) {
+			final float value = bezier(t, x1, x2);
+
+			if (Math.abs(value - x) < EPSILON) {
+				return t;
+			}
+
+			if (value < x) {
+				low = t;
+			} else {
+				high = t;
+			}
+
+			t = (low + high) / 2f;
+		}
+
+		return t;
+	}
+
+}
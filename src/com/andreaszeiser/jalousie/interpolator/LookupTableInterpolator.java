@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2012 Andreas Zeiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andreaszeiser.jalousie.interpolator;
+
+import android.view.animation.Interpolator;
+
+/**
+ * An interpolator, which is backed by a table of precomputed values. The
+ * values are sampled at equidistant inputs between 0 and 1. Each call of
+ * {@link #getInterpolation(float)} costs one array lookup and one linear
+ * interpolation between two neighbouring values, regardless of how expensive
+ * the original curve is.
+ * 
+ * @see Interpolators
+ * 
+ * @author Andreas Zeiser
+ * 
+ */
+public class LookupTableInterpolator implements Interpolator {
+
+	/**
+	 * Default number of samples. With this number, the error of the linear
+	 * interpolation of a smooth curve stays far below one pixel.
+	 */
+	public static final int DEFAULT_SAMPLE_COUNT = 201;
+
+	private final float[] mValues;
+
+	/**
+	 * The index of the last value as float, so that it must not be converted
+	 * on each frame.
+	 */
+	private final float mLastIndex;
+
+	/**
+	 * @param values
+	 *            values of the curve at equidistant inputs from 0 to 1, at
+	 *            least two values are required. The array is not copied.
+	 */
+	public LookupTableInterpolator(final float[] values) {
+		if (values == null || values.length < 2) {
+			throw new IllegalArgumentException(
+					"at least two values are required");
+		}
+
+		mValues = values;
+		mLastIndex = values.length - 1;
+	}
+
+	/**
+	 * Samples the given interpolator into a lookup table.
+	 * 
+	 * @param interpolator
+	 *            the interpolator to sample
+	 * @param sampleCount
+	 *            number of samples, at least two
+	 * @return the new lookup table interpolator
+	 */
+	public static LookupTableInterpolator sample(
+			final Interpolator interpolator, final int sampleCount) {
+		if (sampleCount < 2) {
+			throw new IllegalArgumentException(
+					"at least two samples are required");
+		}
+
+		final float[] values = new float[sampleCount];
+		final float step = 1f / (sampleCount - 1);
+
+		for (int i = 0; i < sampleCount; i++) {
+			values[i] = interpolator.getInterpolation(i * step);
+		}
+
+		// avoid rounding errors at the bounds
+		values[sampleCount - 1] = interpolator.getInterpolation(1f);
+
+		return new LookupTableInterpolator(values);
+	}
+
+	/**
+	 * Samples the given interpolator with {@value #DEFAULT_SAMPLE_COUNT}
+	 * samples.
+	 * 
+	 * @see #sample(Interpolator, int)
+	 */
+	public static LookupTableInterpolator sample(
+			final Interpolator interpolator) {
+		return sample(interpolator, DEFAULT_SAMPLE_COUNT);
+	}
+
+	@Override
+	public float getInterpolation(final float input) {
+		if (input <= 0f) {
+			return mValues[0];
+		}
+
+		if (input >= 1f) {
+			return mValues[mValues.length - 1];
+		}
+
+		final float position = input * mLastIndex;
+		final int index = (int) position;
+		final float fraction = position - index;
+		final float start = mValues[index];
+
+		return start + fraction * (mValues[index + 1] - start);
+	}
+
+}
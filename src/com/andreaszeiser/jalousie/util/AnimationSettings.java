@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2012 Andreas Zeiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andreaszeiser.jalousie.util;
+
+import java.lang.ref.WeakReference;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.os.Build;
+import android.os.IBinder;
+import android.provider.Settings;
+
+/**
+ * App-wide animation settings for all jalousie components. Combines the
+ * device's animator duration scale, which can be changed by the user in the
+ * developer options, with an app-wide reduced motion switch.
+ *
+ * @author Andreas Zeiser
+ *
+ */
+public final class AnimationSettings {
+
+	/**
+	 * Name of the setting which holds the animator duration scale. Since API
+	 * level 17, this value lives in <code>Settings.Global</code>. Reading it
+	 * through <code>Settings.System</code> there logs a warning on each call.
+	 */
+	private static final String ANIMATOR_DURATION_SCALE = "animator_duration_scale";
+
+	/**
+	 * The cached animator duration scale or -1, if it was not read yet.
+	 */
+	private static float sDurationScale = -1f;
+
+	/**
+	 * Token of the window, for which the duration scale was read last.
+	 */
+	private static WeakReference<IBinder> sDurationScaleWindow;
+
+	/**
+	 * Configuration, at which the duration scale was read last.
+	 */
+	private static Configuration sDurationScaleConfiguration;
+
+	/**
+	 * If true, no jalousie will animate its state changes.
+	 */
+	private static boolean sReducedMotion = false;
+
+	private AnimationSettings() {
+	}
+
+	/**
+	 * Enables or disables reduced motion for all jalousie components of this
+	 * app. If enabled, every expand or collapse is applied immediately.
+	 *
+	 * @param reducedMotion
+	 *            true, if jalousies should not animate anymore
+	 */
+	public static void setReducedMotion(final boolean reducedMotion) {
+		sReducedMotion = reducedMotion;
+	}
+
+	public static boolean isReducedMotion() {
+		return sReducedMotion;
+	}
+
+	/**
+	 * Returns the animator duration scale of the device. A value of 0 means,
+	 * that the user turned animations off.
+	 *
+	 * @param context
+	 * @return the animator duration scale, 1.0 if it cannot be read
+	 * @see #getDurationScale(Context, IBinder)
+	 */
+	public static float getDurationScale(final Context context) {
+		return getDurationScale(context, null);
+	}
+
+	/**
+	 * Returns the animator duration scale of the device. The value is cached
+	 * process-wide and read again only for another window or after a
+	 * configuration change, so that it is cheap to call this method each time
+	 * a view is attached, e.g. for each row of a list. Must only be called
+	 * from the main thread.
+	 *
+	 * @param context
+	 * @param windowToken
+	 *            token of the window, which the caller is attached to, or
+	 *            <code>null</code>
+	 * @return the animator duration scale, 1.0 if it cannot be read
+	 */
+	public static float getDurationScale(final Context context,
+			final IBinder windowToken) {
+		final Configuration configuration = context.getResources()
+				.getConfiguration();
+
+		if (sDurationScale < 0f
+				|| (windowToken != null && windowToken != getDurationScaleWindow())
+				|| sDurationScaleConfiguration.diff(configuration) != 0) {
+			sDurationScale = readDurationScale(context);
+			sDurationScaleWindow = (windowToken != null) ? new WeakReference<IBinder>(
+					windowToken) : null;
+			sDurationScaleConfiguration = new Configuration(configuration);
+		}
+
+		return sDurationScale;
+	}
+
+	private static IBinder getDurationScaleWindow() {
+		return (sDurationScaleWindow != null) ? sDurationScaleWindow.get()
+				: null;
+	}
+
+	private static float readDurationScale(final Context context) {
+		try {
+			if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
+				return Settings.Global.getFloat(context.getContentResolver(),
+						ANIMATOR_DURATION_SCALE, 1f);
+			}
+
+			return Settings.System.getFloat(context.getContentResolver(),
+					ANIMATOR_DURATION_SCALE, 1f);
+		} catch (SecurityException e) {
+			return 1f;
+		}
+	}
+
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2012 Andreas Zeiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andreaszeiser.jalousie.util;
+
+import java.lang.reflect.Method;
+
+import android.os.Build;
+
+/**
+ * Trace sections of jalousie components, which show up as named slices in
+ * systrace. Tracing has to be enabled through {@link #setEnabled(boolean)}
+ * first. While it is disabled, each call costs a single field check and
+ * nothing is allocated.
+ * 
+ * Synchronous sections need API level 18. Async sections use the public API
+ * since API level 29 and the corresponding hidden API before, which is
+ * looked up once, when tracing is enabled.
+ * 
+ * @author Andreas Zeiser
+ * 
+ */
+public final class Trace {
+
+	/**
+	 * Is identical to the hidden <code>Trace.TRACE_TAG_APP</code>.
+	 */
+	private static final long TRACE_TAG_APP = 1L << 12;
+
+	private static boolean sEnabled = false;
+
+	/**
+	 * Begins an async section, either
+	 * <code>beginAsyncSection(String, int)</code> or
+	 * <code>asyncTraceBegin(long, String, int)</code>. Is <code>null</code>, if
+	 * async sections are not available.
+	 */
+	private static Method sBeginAsyncSection;
+
+	private static Method sEndAsyncSection;
+
+	/**
+	 * True, if async sections use the public API.
+	 */
+	private static boolean sPublicAsyncSections;
+
+	private Trace() {
+	}
+
+	/**
+	 * Enables or disables trace sections of all jalousie components. Has no
+	 * effect below API level 18.
+	 * 
+	 * @param enabled
+	 */
+	public static void setEnabled(final boolean enabled) {
+		if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN_MR2) {
+			return;
+		}
+
+		if (enabled && sBeginAsyncSection == null) {
+			lookUpAsyncSections();
+		}
+
+		sEnabled = enabled;
+	}
+
+	public static boolean isEnabled() {
+		return sEnabled;
+	}
+
+	/**
+	 * Begins a section on the current thread, which has to be ended by
+	 * {@link #endSection()} on the same thread.
+	 * 
+	 * @param name
+	 *            name of the section, should be a constant
+	 */
+	public static void beginSection(final String name) {
+		if (sEnabled) {
+			android.os.Trace.beginSection(name);
+		}
+	}
+
+	public static void endSection() {
+		if (sEnabled) {
+			android.os.Trace.endSection();
+		}
+	}
+
+	/**
+	 * Begins an async section, which may end in another frame. Sections with
+	 * the same name have to use distinct cookies, if they overlap.
+	 * 
+	 * @param name
+	 *            name of the section, should be a constant
+	 * @param cookie
+	 *            identifies the section together with its name
+	 */
+	public static void beginAsyncSection(final String name, final int cookie) {
+		if (sEnabled && sBeginAsyncSection != null) {
+			invokeAsyncSection(sBeginAsyncSection, name, cookie);
+		}
+	}
+
+	public static void endAsyncSection(final String name, final int cookie) {
+		if (sEnabled && sEndAsyncSection != null) {
+			invokeAsyncSection(sEndAsyncSection, name, cookie);
+		}
+	}
+
+	private static void invokeAsyncSection(final Method method,
+			final String name, final int cookie) {
+		try {
+			if (sPublicAsyncSections) {
+				method.invoke(null, name, cookie);
+			} else {
+				method.invoke(null, TRACE_TAG_APP, name, cookie);
+			}
+		} catch (Exception e) {
+			// the section is lost, but tracing continues
+			Log.w("Trace", "[invokeAsyncSection] " + e);
+		}
+	}
+
+	private static void lookUpAsyncSections() {
+		try {
+			if (Build.VERSION.SDK_INT >= 29) {
+				sBeginAsyncSection = android.os.Trace.class.getMethod(
+						"beginAsyncSection", String.class, int.class);
+				sEndAsyncSection = android.os.Trace.class.getMethod(
+						"endAsyncSection", String.class, int.class);
+				sPublicAsyncSections = true;
+			} else {
+				sBeginAsyncSection = android.os.Trace.class.getMethod(
+						"asyncTraceBegin", long.class, String.class, int.class);
+				sEndAsyncSection = android.os.Trace.class.getMethod(
+						"asyncTraceEnd", long.class, String.class, int.class);
+				sPublicAsyncSections = false;
+			}
+		} catch (Exception e) {
+			Log.w("Trace", "[lookUpAsyncSections] async sections unavailable: "
+					+ e);
+
+			sBeginAsyncSection = null;
+			sEndAsyncSection = null;
+		}
+	}
+
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2012 Andreas Zeiser
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andreaszeiser.jalousie.interpolator;
+
+import android.os.Build;
+import android.test.AndroidTestCase;
+import android.util.Log;
+import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.animation.Interpolator;
+import android.view.animation.PathInterpolator;
+
+/**
+ * Measures the cost of {@link LookupTableInterpolator#getInterpolation(float)}
+ * against the framework interpolators, which the lookup tables replace, and
+ * the error of the tables against the exact curves. The results are written
+ * to the log with tag {@value #TAG}, e.g.
+ * 
+ * <pre>
+ * adb shell am instrument -w -e class com.andreaszeiser.jalousie.interpolator.InterpolatorBenchmark \
+ *     com.andreaszeiser.jalousie.tests/android.test.InstrumentationTestRunner
+ * </pre>
+ * 
+ * {@link PathInterpolator} is only measured on API level 21 and above.
+ * 
+ * @author Andreas Zeiser
+ * 
+ */
+public class InterpolatorBenchmark extends AndroidTestCase {
+
+	private static final String TAG = "InterpolatorBenchmark";
+
+	/**
+	 * Number of distinct inputs between 0 and 1, which are passed in turn.
+	 */
+	private static final int INPUT_STEPS = 1000;
+
+	private static final int WARMUP_CALLS = 200000;
+
+	private static final int MEASURED_CALLS = 2000000;
+
+	/**
+	 * Number of inputs, at which the error against the exact curve is
+	 * evaluated.
+	 */
+	private static final int ERROR_STEPS = 10000;
+
+	/**
+	 * Largest accepted error of a lookup table, which is below one pixel for
+	 * animations of up to 1000 pixels.
+	 */
+	private static final double MAX_ERROR = 1e-3;
+
+	/**
+	 * Iterations of the bisection, which solves the exact bezier curve in
+	 * double precision.
+	 */
+	private static final int BISECTION_ITERATIONS = 60;
+
+	/**
+	 * Keeps the results of the measured calls alive, so that they are not
+	 * optimized away.
+	 */
+	private float mSink;
+
+	public void testAccelerateDecelerateCost() {
+		final double framework = measure(new AccelerateDecelerateInterpolator());
+		final double table = measure(Interpolators.ACCELERATE_DECELERATE);
+
+		Log.i(TAG, "AccelerateDecelerateInterpolator: " + framework
+				+ " ns/call");
+		Log.i(TAG, "Interpolators.ACCELERATE_DECELERATE: " + table
+				+ " ns/call");
+	}
+
+	public void testCubicBezierCost() {
+		final double table = measure(Interpolators.FAST_OUT_SLOW_IN);
+
+		Log.i(TAG, "Interpolators.FAST_OUT_SLOW_IN: " + table + " ns/call");
+
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+			final double framework = measure(new PathInterpolator(0.4f, 0f,
+					0.2f, 1f));
+
+			Log.i(TAG, "PathInterpolator(0.4, 0, 0.2, 1): " + framework
+					+ " ns/call");
+		} else {
+			Log.i(TAG, "PathInterpolator requires API level 21, skipped");
+		}
+	}
+
+	public void testAccelerateDecelerateError() {
+		double maxError = 0d;
+
+		for (int i = 0; i <= ERROR_STEPS; i++) {
+			final double input = (double) i / ERROR_STEPS;
+			final double exact = Math.cos((input + 1d) * Math.PI) / 2d + 0.5d;
+
+			maxError = Math.max(maxError, Math.abs(exact
+					- Interpolators.ACCELERATE_DECELERATE
+							.getInterpolation((float) input)));
+		}
+
+		Log.i(TAG, "Interpolators.ACCELERATE_DECELERATE: max error="
+				+ maxError);
+
+		assertTrue("max error " + maxError, maxError < MAX_ERROR);
+	}
+
+	public void testCubicBezierError() {
+		assertCubicBezierError("FAST_OUT_SLOW_IN",
+				Interpolators.FAST_OUT_SLOW_IN, 0.4d, 0d, 0.2d, 1d);
+		assertCubicBezierError("LINEAR_OUT_SLOW_IN",
+				Interpolators.LINEAR_OUT_SLOW_IN, 0d, 0d, 0.2d, 1d);
+		assertCubicBezierError("FAST_OUT_LINEAR_IN",
+				Interpolators.FAST_OUT_LINEAR_IN, 0.4d, 0d, 1d, 1d);
+	}
+
+	/**
+	 * @return the average time of one call in nanoseconds
+	 */
+	private double measure(final Interpolator interpolator) {
+		run(interpolator, WARMUP_CALLS);
+
+		final long start = System.nanoTime();
+		run(interpolator, MEASURED_CALLS);
+
+		return (double) (System.nanoTime() - start) / MEASURED_CALLS;
+	}
+
+	private void run(final Interpolator interpolator, final int calls) {
+		float sum = 0f;
+
+		for (int i = 0; i < calls; i++) {
+			sum += interpolator.getInterpolation((float) (i % INPUT_STEPS)
+					/ INPUT_STEPS);
+		}
+
+		mSink += sum;
+	}
+
+	private void assertCubicBezierError(final String name,
+			final Interpolator interpolator, final double x1,
+			final double y1, final double x2, final double y2) {
+		double maxError = 0d;
+
+		for (int i = 0; i <= ERROR_STEPS; i++) {
+			final double input = (double) i / ERROR_STEPS;
+			final double exact = bezier(solveCurveX(input, x1, x2), y1, y2);
+
+			maxError = Math.max(maxError,
+					Math.abs(exact - interpolator.getInterpolation((float) input)));
+		}
+
+		Log.i(TAG, "Interpolators." + name + ": max error=" + maxError);
+
+		assertTrue(name + " max error " + maxError, maxError < MAX_ERROR);
+	}
+
+	private static double bezier(final double t, final double p1,
+			final double p2) {
+		final double u = 1d - t;
+
+		return 3d * u * u * t * p1 + 3d * u * t * t * p2 + t * t * t;
+	}
+
+	/**
+	 * Finds the curve parameter for the given x by bisection, which is slow
+	 * but exact within double precision.
+	 */
+	private static double solveCurveX(final double x, final double x1,
+			final double x2) {
+		double low = 0d;
+		double high = 1d;
+
+		for (int i = 0; i < BISECTION_ITERATIONS; i++) {
+			final double t = (low + high) / 2d;
+
+			if (bezier(t, x1, x2) < x) {
+				low = t;
+			} else {
+				high = t;
+			}
+		}
+
+		return (low + high) / 2d;
+	}
+
+}